@@ -0,0 +1,37 @@
+package bench.dev.wordle;
+
+import main.dev.wordle.common.Config;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+/**
+ * Runs the benchmarks once for every word length from MIN_WORD_LENGTH to MAX_WORD_LENGTH.
+ * The arguments are the usual JMH ones, so a subset can be selected with a regular expression
+ * and the lengths can be overridden, e.g.
+ * java -jar benchmarks.jar Solver -p length=5 -wi 3 -i 5
+ */
+public class Benchmarks {
+
+    public static void main(String[] args) throws IOException, RunnerException, CommandLineOptionException {
+        CommandLineOptions arguments = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(arguments);
+        if (arguments.getIncludes().isEmpty()) {
+            options.include(Benchmarks.class.getPackageName());
+        }
+        if (!arguments.getParameter("length").hasValue()) {
+            Config config = new Config();
+            options.param("length", IntStream.rangeClosed(config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH)
+                    .mapToObj(Integer::toString)
+                    .toArray(String[]::new));
+        }
+        new Runner(options.build()).run();
+    }
+
+}
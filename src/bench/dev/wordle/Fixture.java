@@ -0,0 +1,42 @@
+package bench.dev.wordle;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+
+import java.io.IOException;
+
+/**
+ * A fixed game position for a given word length, so that every run measures the same work:
+ * the target and the guess are taken from the middle of the bucket and the query is the feedback
+ * the guess gets, written the way the solver expects it.
+ */
+public class Fixture {
+
+    public final Bucket bucket;
+    public final String target;
+    public final String guess;
+    public final String word;
+    public final String eliminated;
+
+    public Fixture(int length) throws IOException {
+        bucket = Vocabulary.getInstance().ofLength(length);
+        target = bucket.get(bucket.size / 2).toUpperCase();
+        guess = bucket.get(bucket.size / 3).toUpperCase();
+        StringBuilder word = new StringBuilder();
+        StringBuilder eliminated = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            char letter = guess.charAt(i);
+            if (target.charAt(i) == letter) {
+                word.append(letter);
+            } else if (target.indexOf(letter) >= 0) {
+                word.append(Character.toLowerCase(letter));
+            } else {
+                word.append('*');
+                if (eliminated.indexOf(String.valueOf(letter)) < 0) { eliminated.append(letter); }
+            }
+        }
+        this.word = word.toString();
+        this.eliminated = eliminated.toString();
+    }
+
+}
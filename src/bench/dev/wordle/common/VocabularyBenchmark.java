@@ -0,0 +1,67 @@
+package bench.dev.wordle.common;
+
+import bench.dev.wordle.Fixture;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Dictionary;
+import main.dev.wordle.common.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VocabularyBenchmark {
+
+    @Param({"4", "5", "6", "7", "8"})
+    public int length;
+
+    private Vocabulary vocabulary;
+    private String present;
+    private String absent;
+
+    @Setup
+    public void setUp() throws IOException {
+        Fixture fixture = new Fixture(length);
+        vocabulary = Vocabulary.getInstance();
+        present = fixture.target;
+        absent = "Q".repeat(length);
+    }
+
+    /**
+     * Cold start: map the dictionary and index the words of one length, as the first lookup does
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int load() throws IOException {
+        Dictionary dictionary = Dictionary.open(Paths.get(Dictionary.binaryFile));
+        Bucket bucket = new Bucket(length, dictionary.letters(length));
+        return bucket.index().indexOf(present);
+    }
+
+    @Benchmark
+    public int ofLength() {
+        return vocabulary.ofLength(length).size;
+    }
+
+    @Benchmark
+    public String sample() {
+        return vocabulary.ofLength(length).sample();
+    }
+
+    @Benchmark
+    public boolean containsPresent() {
+        return vocabulary.contains(present);
+    }
+
+    @Benchmark
+    public boolean containsAbsent() {
+        return vocabulary.contains(absent);
+    }
+
+}
@@ -0,0 +1,52 @@
+package bench.dev.wordle.game;
+
+import bench.dev.wordle.Fixture;
+import main.dev.wordle.game.Result;
+import main.dev.wordle.game.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+    @Param({"4", "5", "6", "7", "8"})
+    public int length;
+
+    private Fixture fixture;
+    private Validator validator;
+
+    /**
+     * The validator checks the next guess against what the first guess revealed
+     */
+    @Setup
+    public void setUp() throws IOException {
+        fixture = new Fixture(length);
+        main.dev.wordle.game.State state = new main.dev.wordle.game.State(fixture.target);
+        state.update(fixture.guess);
+        validator = new Validator(fixture.target);
+        validator.setEliminated(state.eliminatedChars);
+        validator.setDiscoveredLetters(state.discoveredChars);
+        validator.setPartiallyDiscoveredLetters(state.partiallyDiscoveredChars);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return validator.validate(fixture.target);
+    }
+
+    /**
+     * A fresh game is needed for every guess, so this includes setting up the state
+     */
+    @Benchmark
+    public Result update() {
+        return new main.dev.wordle.game.State(fixture.target).update(fixture.guess);
+    }
+
+}
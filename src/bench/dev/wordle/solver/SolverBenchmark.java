@@ -0,0 +1,117 @@
+package bench.dev.wordle.solver;
+
+import bench.dev.wordle.Fixture;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.solver.Filter;
+import main.dev.wordle.solver.Scan;
+import main.dev.wordle.solver.Solver;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every filter stage is measured over the whole bucket of the given length
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"4", "5", "6", "7", "8"})
+    public int length;
+
+    private Fixture fixture;
+    private Filter filter;
+    private int[] masks;
+    private long[] codes;
+    private int limit;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = new Fixture(length);
+        filter = new Filter(fixture.word, fixture.eliminated);
+        masks = fixture.bucket.masks();
+        codes = fixture.bucket.codes();
+        limit = new Config().DISPLAY_SOLUTIONS;
+    }
+
+    @Benchmark
+    public int excludesEliminated() {
+        int count = 0;
+        for (int mask : masks) {
+            if (filter.excludesEliminated(mask)) { count++; }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int matchesDiscovered() {
+        int count = 0;
+        for (long code : codes) {
+            if (filter.matchesDiscovered(code)) { count++; }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int matchesPartiallyDiscovered() {
+        int count = 0;
+        for (int id = 0; id < masks.length; id++) {
+            if (filter.matchesPartiallyDiscovered(masks[id], codes[id])) { count++; }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int allFilters() {
+        int count = 0;
+        for (int id = 0; id < masks.length; id++) {
+            if (filter.test(masks[id], codes[id])) { count++; }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int[] dawgMatch() {
+        return fixture.bucket.dawg().match(filter.allowed(), filter.required(), fixture.bucket.size);
+    }
+
+    @Benchmark
+    public int[] scanMatch() {
+        return Scan.first(fixture.bucket, filter, fixture.bucket.size, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public long[] indexSelect() {
+        return fixture.bucket.letterIndex().select(filter.allowed(), filter.required());
+    }
+
+    @Benchmark
+    public int indexCount() {
+        return fixture.bucket.letterIndex().count(filter.allowed(), filter.required());
+    }
+
+    /**
+     * The query behind showCandidates, from parsing the input to the first DISPLAY_SOLUTIONS words, without the
+     * result cache
+     */
+    @Benchmark
+    public List<String> showCandidates() {
+        return Solver.uncachedCandidates(fixture.word, fixture.eliminated, limit);
+    }
+
+    /**
+     * The same query answered from the result cache, which holds it after the first call
+     */
+    @Benchmark
+    public List<String> showCandidatesCached() {
+        return Solver.candidates(fixture.word, fixture.eliminated, limit);
+    }
+
+}
@@ -0,0 +1,82 @@
+package main.dev.wordle.common;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Samples indexes with probabilities proportional to their weights in constant time (Vose's alias method).
+ *
+ * Every index gets a column of height 1 that holds part of its own weight and, on top of it, the rest of
+ * the weight of one other index (its alias). A sample picks a column uniformly and then either the column
+ * or its alias with a single comparison.
+ */
+public class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    private AliasTable(double[] probability, int[] alias) {
+        this.probability = probability;
+        this.alias = alias;
+    }
+
+    /**
+     * @param weights a non-negative weight per index
+     * @return the table, with no columns if every weight is 0
+     */
+    public static AliasTable build(long[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (long weight : weights) {
+            total += weight;
+        }
+        if (total == 0) { return new AliasTable(new double[0], new int[0]); }
+        double[] probability = new double[n];
+        int[] alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = (double) weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // whatever is left is 1 up to rounding errors
+        while (largeCount > 0) { probability[large[--largeCount]] = 1; }
+        while (smallCount > 0) { probability[small[--smallCount]] = 1; }
+        return new AliasTable(probability, alias);
+    }
+
+    /**
+     * @return the number of columns, 0 if nothing can be sampled
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return an index picked with a probability proportional to its weight
+     */
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+}
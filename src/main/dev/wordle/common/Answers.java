@@ -0,0 +1,114 @@
+package main.dev.wordle.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The words that can be the answer of a game, as opposed to the words that are only allowed as guesses.
+ *
+ * Every word of the vocabulary is an allowed guess, and the answers are a subset of them: they are read from an
+ * optional text file with one word per line and kept as a {@link Bitset} over the word ids of each bucket, so the
+ * two lists share the letters of the dictionary. Words of the file that are not in the vocabulary are ignored.
+ * Without the file, or for lengths it has no words for, every word is an answer.
+ */
+public class Answers {
+
+    public static final String answerFile = "resources/answers.txt";
+
+    private final Bitset[] sets;
+    private final int[][] ids;
+
+    private Answers(Bitset[] sets, int[][] ids) {
+        this.sets = sets;
+        this.ids = ids;
+    }
+
+    /**
+     * Read the answers of a vocabulary
+     * @param path the answer file
+     * @param vocabulary the allowed guesses
+     * @param maxLength the length of the longest answers
+     * @return the answers, every word if the file does not exist
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static Answers load(Path path, Vocabulary vocabulary, int maxLength) throws IOException {
+        boolean[][] answers = new boolean[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            answers[length] = new boolean[vocabulary.ofLength(length).size];
+        }
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String word = line.trim();
+                    if (word.isEmpty() || word.length() > maxLength) { continue; }
+                    int id = vocabulary.ofLength(word.length()).indexOf(word);
+                    if (id >= 0) { answers[word.length()][id] = true; }
+                }
+            }
+        }
+        Bitset[] sets = new Bitset[maxLength + 1];
+        int[][] ids = new int[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            boolean[] answer = answers[length];
+            ids[length] = IntStream.range(0, answer.length).filter(id -> answer[id]).toArray();
+            if (ids[length].length > 0) {
+                sets[length] = Bitset.of(ids[length], ids[length].length, answer.length);
+            }
+        }
+        return new Answers(sets, ids);
+    }
+
+    /**
+     * @return whether the answers of the length are a curated subset rather than every word
+     */
+    public boolean available(int length) {
+        return length < sets.length && sets[length] != null;
+    }
+
+    /**
+     * @return the number of answers of the length
+     */
+    public int size(Bucket bucket) {
+        return available(bucket.length) ? ids[bucket.length].length : bucket.size;
+    }
+
+    /**
+     * @return the answers of the length, or null if every word is an answer
+     */
+    public Bitset set(int length) {
+        return available(length) ? sets[length] : null;
+    }
+
+    /**
+     * @return the ids of the answers of the bucket in increasing order; the array must not be modified
+     */
+    public int[] ids(Bucket bucket) {
+        return available(bucket.length) ? ids[bucket.length] : IntStream.range(0, bucket.size).toArray();
+    }
+
+    /**
+     * Keep only the answers of a bitmap of word ids
+     * @param length the length of the words
+     * @param bitmap one bit per word of the bucket, see {@link Bitset#full}
+     */
+    public void retain(int length, long[] bitmap) {
+        if (available(length)) { sets[length].and(bitmap); }
+    }
+
+    /**
+     * Pick an answer uniformly at random
+     * @return the id of the answer
+     */
+    public int sample(Bucket bucket) {
+        return available(bucket.length)
+                ? ids[bucket.length][ThreadLocalRandom.current().nextInt(ids[bucket.length].length)]
+                : ThreadLocalRandom.current().nextInt(bucket.size);
+    }
+
+}
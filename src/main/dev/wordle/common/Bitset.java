@@ -0,0 +1,161 @@
+package main.dev.wordle.common;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of word ids, stored in whichever of two forms is smaller: a sorted array of ids
+ * for sparse sets or a bitmap with one bit per word of the bucket for dense ones.
+ *
+ * Sets are combined into a plain bitmap (a long[] with one bit per word, see {@link #full}) which
+ * is then narrowed down set by set; the static helpers count and list the ids of such a bitmap.
+ */
+public final class Bitset {
+
+    private final int universe;
+    private final int cardinality;
+    private final int[] ids;
+    private final long[] words;
+
+    private Bitset(int universe, int cardinality, int[] ids, long[] words) {
+        this.universe = universe;
+        this.cardinality = cardinality;
+        this.ids = ids;
+        this.words = words;
+    }
+
+    /**
+     * @param ids the ids in increasing order
+     * @param count the number of ids to take from the array
+     * @param universe the number of words in the bucket
+     * @return the set of the ids
+     */
+    public static Bitset of(int[] ids, int count, int universe) {
+        if ((long) count * Integer.SIZE < universe) {
+            return new Bitset(universe, count, Arrays.copyOf(ids, count), null);
+        }
+        long[] words = new long[words(universe)];
+        for (int i = 0; i < count; i++) {
+            words[ids[i] >>> 6] |= 1L << ids[i];
+        }
+        return new Bitset(universe, count, null, words);
+    }
+
+    /**
+     * @return the number of ids in the set
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * @return whether the id is in the set
+     */
+    public boolean contains(int id) {
+        if (words != null) {
+            return id >= 0 && id < universe && (words[id >>> 6] >>> id & 1) != 0;
+        }
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * @return the size of the set in bytes, ignoring the object headers
+     */
+    public long bytes() {
+        return ids != null ? 4L * ids.length : 8L * words.length;
+    }
+
+    /**
+     * Keep only the ids of a bitmap that are also in this set
+     */
+    public void and(long[] bitmap) {
+        if (words != null) {
+            for (int i = 0; i < bitmap.length; i++) {
+                bitmap[i] &= words[i];
+            }
+            return;
+        }
+        int next = 0;
+        for (int i = 0; i < bitmap.length; i++) {
+            long kept = 0;
+            while (next < ids.length && ids[next] >>> 6 == i) {
+                kept |= 1L << ids[next++];
+            }
+            bitmap[i] &= kept;
+        }
+    }
+
+    /**
+     * Remove the ids of this set from a bitmap
+     */
+    public void andNot(long[] bitmap) {
+        if (words != null) {
+            for (int i = 0; i < bitmap.length; i++) {
+                bitmap[i] &= ~words[i];
+            }
+            return;
+        }
+        for (int id : ids) {
+            bitmap[id >>> 6] &= ~(1L << id);
+        }
+    }
+
+    /**
+     * @return a bitmap with the ids of this set
+     */
+    public long[] toBitmap() {
+        if (words != null) {
+            return words.clone();
+        }
+        long[] bitmap = new long[words(universe)];
+        for (int id : ids) {
+            bitmap[id >>> 6] |= 1L << id;
+        }
+        return bitmap;
+    }
+
+    /**
+     * @param universe the number of words in the bucket
+     * @return a bitmap with every word of the bucket
+     */
+    public static long[] full(int universe) {
+        long[] bitmap = new long[words(universe)];
+        Arrays.fill(bitmap, -1L);
+        if ((universe & 63) != 0) {
+            bitmap[bitmap.length - 1] = (1L << universe) - 1;
+        }
+        return bitmap;
+    }
+
+    /**
+     * @return the number of ids in a bitmap
+     */
+    public static int cardinality(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @param limit the maximum number of ids to return
+     * @return the first ids of a bitmap in increasing order
+     */
+    public static int[] toArray(long[] bitmap, int limit) {
+        int[] ids = new int[Math.min(limit, cardinality(bitmap))];
+        int count = 0;
+        for (int i = 0; i < bitmap.length && count < ids.length; i++) {
+            long word = bitmap[i];
+            while (word != 0 && count < ids.length) {
+                ids[count++] = (i << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return ids;
+    }
+
+    private static int words(int universe) {
+        return (universe + 63) >>> 6;
+    }
+
+}
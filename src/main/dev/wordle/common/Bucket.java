@@ -0,0 +1,240 @@
+package main.dev.wordle.common;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * All the words of a single length, backed by the letters of the binary dictionary.
+ * Words are identified by their position in the bucket (the word id); the bucket is sorted
+ * alphabetically so the ids follow alphabetical order as well.
+ *
+ * A bucket is immutable: its indexes and arrays are built on first use and published safely,
+ * so a single bucket can be shared by every thread.
+ */
+public class Bucket {
+
+    public final int length;
+    public final int size;
+    private final ByteBuffer letters;
+    private volatile WordIndex index;
+    private volatile Dawg dawg;
+    private volatile LetterIndex letterIndex;
+    private volatile int[] masks;
+    private volatile long[] codes;
+
+    public Bucket(int length, ByteBuffer letters) {
+        this.length = length;
+        this.size = length == 0 ? 0 : letters.capacity() / length;
+        this.letters = letters;
+    }
+
+    /**
+     * @param id the word id
+     * @param position the index of the letter within the word
+     * @return the letter code between 0 ('a') and 25 ('z')
+     */
+    public int letter(int id, int position) {
+        return letters.get(id * length + position);
+    }
+
+    /**
+     * Decode a word.
+     * @param id the word id
+     * @return the word in lowercase
+     */
+    public String get(int id) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + letter(id, i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Find the id of a word. The lookup is case-insensitive and does not allocate.
+     * Words short enough to be packed go through the hash index, longer ones are binary searched.
+     * @param word the word to look up
+     * @return the word id or -1 if the word is not in the bucket
+     */
+    public int indexOf(CharSequence word) {
+        if (word.length() != length) { return -1; }
+        if (length <= WordIndex.MAX_LENGTH) {
+            return index().indexOf(word);
+        }
+        return search(word);
+    }
+
+    /**
+     * @return the hash index of the bucket, built on first use
+     */
+    public WordIndex index() {
+        WordIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                if (index == null) { index = new WordIndex(this, true); }
+                result = index;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the word graph of the bucket, built on first use
+     */
+    public Dawg dawg() {
+        Dawg result = dawg;
+        if (result == null) {
+            synchronized (this) {
+                if (dawg == null) { dawg = Dawg.build(this); }
+                result = dawg;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the inverted letter index of the bucket, built on first use
+     */
+    public LetterIndex letterIndex() {
+        LetterIndex result = letterIndex;
+        if (result == null) {
+            synchronized (this) {
+                if (letterIndex == null) { letterIndex = LetterIndex.build(this); }
+                result = letterIndex;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The set of letters used by every word, one bit per letter ('a' is the lowest bit).
+     * @return the letter masks indexed by word id, computed on first use
+     */
+    public int[] masks() {
+        int[] result = masks;
+        if (result == null) {
+            synchronized (this) {
+                if (masks == null) {
+                    int[] computed = new int[size];
+                    for (int id = 0; id < size; id++) {
+                        for (int i = 0; i < length; i++) {
+                            computed[id] |= 1 << letter(id, i);
+                        }
+                    }
+                    masks = computed;
+                }
+                result = masks;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The letters of every word packed 5 bits per position, first letter in the highest bits.
+     * @return the packed words indexed by word id, computed on first use
+     */
+    public long[] codes() {
+        if (length > WordIndex.MAX_LENGTH) {
+            throw new IllegalStateException("Words longer than " + WordIndex.MAX_LENGTH + " letters cannot be packed");
+        }
+        long[] result = codes;
+        if (result == null) {
+            synchronized (this) {
+                if (codes == null) {
+                    long[] computed = new long[size];
+                    for (int id = 0; id < size; id++) {
+                        computed[id] = WordIndex.encode(this, id);
+                    }
+                    codes = computed;
+                }
+                result = codes;
+            }
+        }
+        return result;
+    }
+
+    private int search(CharSequence word) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compare(middle, word);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return whether the word is in the bucket
+     */
+    public boolean contains(CharSequence word) {
+        return indexOf(word) >= 0;
+    }
+
+    /**
+     * Pick a word uniformly at random
+     * @return the word in lowercase
+     * @throws NoSuchElementException if the bucket is empty
+     */
+    public String sample() {
+        if (size == 0) { throw new NoSuchElementException("There are no words of length " + length); }
+        return get(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    /**
+     * @return a list view of the bucket; words are only decoded when they are accessed
+     */
+    public List<String> asList() {
+        return new Words();
+    }
+
+    private int compare(int id, CharSequence word) {
+        for (int i = 0; i < length; i++) {
+            int difference = letter(id, i) - code(word.charAt(i));
+            if (difference != 0) { return difference; }
+        }
+        return 0;
+    }
+
+    /**
+     * @return the letter code of a character, or a value outside 0-25 for anything that is not a letter
+     */
+    static int code(char c) {
+        return (c | 0x20) - 'a';
+    }
+
+    private class Words extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) { throw new IndexOutOfBoundsException(index); }
+            return Bucket.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof CharSequence word && Bucket.this.contains(word);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof CharSequence word ? Bucket.this.indexOf(word) : -1;
+        }
+    }
+
+}
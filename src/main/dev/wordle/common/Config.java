@@ -15,6 +15,8 @@ public class Config {
     public int MIN_WORD_LENGTH;
     public int MAX_WORD_LENGTH;
     public int DISPLAY_SOLUTIONS;
+    public int SOLVER_THREADS;
+    public int SOLVER_CACHE_SIZE;
     public static final String HELP_STRING = ":HELP";
     public static final String QUIT_STRING = ":QUIT";
     public static final String HINT_STRING = ":HINT";
@@ -38,6 +40,10 @@ public class Config {
             MIN_WORD_LENGTH = Integer.parseInt(properties.getProperty("MIN_WORD_LENGTH"));
             MAX_WORD_LENGTH = Integer.parseInt(properties.getProperty("MAX_WORD_LENGTH"));
             DISPLAY_SOLUTIONS = Integer.parseInt(properties.getProperty("DISPLAY_SOLUTIONS"));
+            // 0 uses every core
+            SOLVER_THREADS = Integer.parseInt(properties.getProperty("SOLVER_THREADS", "0"));
+            // 0 turns the result cache off
+            SOLVER_CACHE_SIZE = Integer.parseInt(properties.getProperty("SOLVER_CACHE_SIZE", "10000"));
         } catch (IOException e) {
             throw new IOException(e);
         }
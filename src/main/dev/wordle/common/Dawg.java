@@ -0,0 +1,242 @@
+package main.dev.wordle.common;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A directed acyclic word graph (a minimised trie) over the words of a bucket.
+ *
+ * Words that share a suffix share the nodes of that suffix, so the graph is much smaller than the trie,
+ * and each node knows how many words it leads to, so the id of a word is found along the way
+ * (the number of words skipped on the left). Because the bucket is sorted, walking the edges in order
+ * visits the words in id order.
+ *
+ * Pattern queries walk the graph and skip a whole subtree as soon as a letter is not allowed at its
+ * position, so a query with a few known letters only visits a small part of the words.
+ *
+ * The graph is stored in flat arrays: the edges of node n are first[n] until first[n + 1], sorted by label.
+ * Node 0 is the end of every word.
+ */
+public class Dawg {
+
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    public final int length;
+    private final int root;
+    private final int[] first;
+    private final byte[] labels;
+    private final int[] targets;
+    private final int[] counts;
+
+    private Dawg(int length, int root, int[] first, byte[] labels, int[] targets, int[] counts) {
+        this.length = length;
+        this.root = root;
+        this.first = first;
+        this.labels = labels;
+        this.targets = targets;
+        this.counts = counts;
+    }
+
+    /**
+     * Build the graph of a bucket
+     * @param bucket sorted words of the same length
+     * @return the graph
+     */
+    public static Dawg build(Bucket bucket) {
+        Builder builder = new Builder(bucket);
+        int root = bucket.size == 0 ? builder.empty() : builder.node(0, bucket.size, 0);
+        return builder.toDawg(root);
+    }
+
+    /**
+     * @return the number of nodes
+     */
+    public int nodes() {
+        return first.length - 1;
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int edges() {
+        return labels.length;
+    }
+
+    /**
+     * Find the id of a word
+     * @param word the word, in any case
+     * @return the word id or -1 if the word is not in the graph
+     */
+    public int indexOf(CharSequence word) {
+        if (word.length() != length) { return -1; }
+        int node = root;
+        int id = 0;
+        for (int i = 0; i < length; i++) {
+            int letter = Bucket.code(word.charAt(i));
+            int edge = first[node];
+            int end = first[node + 1];
+            while (edge < end && labels[edge] < letter) {
+                id += counts[targets[edge]];
+                edge++;
+            }
+            if (edge == end || labels[edge] != letter) { return -1; }
+            node = targets[edge];
+        }
+        return id;
+    }
+
+    /**
+     * Find the words that match a pattern
+     * @param allowed the letters allowed at each position as 26-bit masks
+     * @param required the letters that must appear somewhere in the word
+     * @param limit the maximum number of words to return
+     * @return the ids of the matching words in alphabetical order
+     */
+    public int[] match(int[] allowed, int required, int limit) {
+        Matches matches = new Matches(Math.min(limit, counts[root]));
+        if (matches.ids.length > 0) {
+            walk(root, 0, 0, 0, allowed, required, matches);
+        }
+        return matches.size == matches.ids.length ? matches.ids : Arrays.copyOf(matches.ids, matches.size);
+    }
+
+    /**
+     * Find the words that start with a prefix
+     * @param prefix the first letters, in any case
+     * @param limit the maximum number of words to return
+     * @return the ids of the matching words in alphabetical order
+     */
+    public int[] prefix(CharSequence prefix, int limit) {
+        int[] allowed = new int[length];
+        Arrays.fill(allowed, ALL_LETTERS);
+        for (int i = 0; i < Math.min(prefix.length(), length); i++) {
+            allowed[i] = 1 << Bucket.code(prefix.charAt(i));
+        }
+        return prefix.length() > length ? new int[0] : match(allowed, 0, limit);
+    }
+
+    private void walk(int node, int depth, int id, int seen, int[] allowed, int required, Matches matches) {
+        if (depth == length) {
+            if ((seen & required) == required) {
+                matches.ids[matches.size++] = id;
+            }
+            return;
+        }
+        int remaining = length - depth - 1;
+        for (int edge = first[node]; edge < first[node + 1] && matches.size < matches.ids.length; edge++) {
+            int letter = labels[edge];
+            int target = targets[edge];
+            int next = seen | 1 << letter;
+            if ((allowed[depth] >>> letter & 1) != 0 && Integer.bitCount(required & ~next) <= remaining) {
+                walk(target, depth + 1, id, next, allowed, required, matches);
+            }
+            id += counts[target];
+        }
+    }
+
+    private static class Matches {
+        final int[] ids;
+        int size;
+
+        Matches(int limit) {
+            ids = new int[limit];
+        }
+    }
+
+    /**
+     * Builds the graph bottom-up: the words sharing a prefix form a range of the sorted bucket, the node of
+     * a range is built from the nodes of its sub-ranges and a node identical to one built before is reused.
+     */
+    private static class Builder {
+
+        private final Bucket bucket;
+        private final Map<Signature, Integer> register = new HashMap<Signature, Integer>();
+        private int[] first = new int[1024];
+        private byte[] labels = new byte[1024];
+        private int[] targets = new int[1024];
+        private int[] counts = new int[1024];
+        private int nodes = 0;
+        private int edges = 0;
+
+        Builder(Bucket bucket) {
+            this.bucket = bucket;
+            add(new int[0], 1);
+        }
+
+        int empty() {
+            return add(new int[0], 0);
+        }
+
+        /**
+         * @return the node of the words from low (inclusive) to high (exclusive), which share their first depth letters
+         */
+        int node(int low, int high, int depth) {
+            if (depth == bucket.length) { return 0; }
+            int[] edges = new int[2 * 26];
+            int size = 0;
+            int count = 0;
+            for (int start = low; start < high; ) {
+                int letter = bucket.letter(start, depth);
+                int end = start + 1;
+                while (end < high && bucket.letter(end, depth) == letter) { end++; }
+                int child = node(start, end, depth + 1);
+                edges[size++] = letter;
+                edges[size++] = child;
+                count += counts[child];
+                start = end;
+            }
+            Signature signature = new Signature(Arrays.copyOf(edges, size));
+            Integer existing = register.get(signature);
+            if (existing != null) { return existing; }
+            int node = add(signature.edges, count);
+            register.put(signature, node);
+            return node;
+        }
+
+        private int add(int[] edges, int count) {
+            if (nodes + 2 > first.length) {
+                first = Arrays.copyOf(first, 2 * first.length);
+                counts = Arrays.copyOf(counts, 2 * counts.length);
+            }
+            if (this.edges + edges.length / 2 > labels.length) {
+                labels = Arrays.copyOf(labels, 2 * labels.length + edges.length);
+                targets = Arrays.copyOf(targets, 2 * targets.length + edges.length);
+            }
+            first[nodes] = this.edges;
+            counts[nodes] = count;
+            for (int i = 0; i < edges.length; i += 2) {
+                labels[this.edges] = (byte) edges[i];
+                targets[this.edges] = edges[i + 1];
+                this.edges++;
+            }
+            first[nodes + 1] = this.edges;
+            return nodes++;
+        }
+
+        Dawg toDawg(int root) {
+            return new Dawg(
+                    bucket.length,
+                    root,
+                    Arrays.copyOf(first, nodes + 1),
+                    Arrays.copyOf(labels, edges),
+                    Arrays.copyOf(targets, edges),
+                    Arrays.copyOf(counts, nodes)
+            );
+        }
+    }
+
+    private record Signature(int[] edges) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Signature other && Arrays.equals(edges, other.edges);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(edges);
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+package main.dev.wordle.common;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary representation of the word list.
+ *
+ * The words are grouped by length and each group is stored as fixed-width rows of letters
+ * where every letter is encoded as a single byte between 0 ('a') and 25 ('z'). The file starts
+ * with a header that records where each group begins, so that a single length can be accessed
+ * without touching any of the others:
+ * <pre>
+ *   int magic, int version, int maxLength
+ *   (int offset, int count) for every length from 1 to maxLength
+ *   letters of every group, sorted alphabetically within the group
+ * </pre>
+ * The file is memory-mapped, so opening it costs next to nothing regardless of its size.
+ */
+public class Dictionary {
+
+    public static final String textFile = "resources/words.txt";
+    public static final String binaryFile = "resources/words.bin";
+    private static final int MAGIC = 0x57444943; // "WDIC"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int ENTRY_SIZE = 2 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int maxLength;
+    private long checksum = -1;
+
+    private Dictionary(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unrecognised dictionary format");
+        }
+        this.buffer = buffer;
+        this.maxLength = buffer.getInt(2 * Integer.BYTES);
+    }
+
+    /**
+     * Build step: converts the plain text word list into the binary format.
+     * Usage: Dictionary [words.txt] [words.bin]
+     */
+    public static void main(String[] args) throws IOException {
+        Path source = Paths.get(args.length > 0 ? args[0] : textFile);
+        Path target = Paths.get(args.length > 1 ? args[1] : binaryFile);
+        compile(source, target);
+        System.out.println("Dictionary written to " + target);
+    }
+
+    /**
+     * Open the binary dictionary, (re)building it first if it is missing or older than the word list.
+     * @return the memory-mapped dictionary
+     * @throws IOException if neither file can be read
+     */
+    public static Dictionary load() throws IOException {
+        return load(Paths.get(textFile), Paths.get(binaryFile));
+    }
+
+    /**
+     * @param source the text word list
+     * @param target the binary file, which is (re)built from the word list if it is missing or older
+     * @see #load()
+     */
+    public static Dictionary load(Path source, Path target) throws IOException {
+        if (isStale(source, target)) {
+            compile(source, target);
+        }
+        return open(target);
+    }
+
+    /**
+     * Memory-map an existing binary dictionary.
+     * @param path the location of the binary file
+     * @return the dictionary
+     * @throws IOException if the file cannot be mapped or has an unexpected format
+     */
+    public static Dictionary open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Dictionary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Convert a plain text word list (one word per line) into the binary format.
+     * Entries that contain anything other than the letters a-z are skipped.
+     * The file is written next to the target and then moved into place, so readers never see a partial file.
+     * @param source the text word list
+     * @param target the binary file to write
+     * @throws IOException if either of the files cannot be accessed
+     */
+    public static void compile(Path source, Path target) throws IOException {
+        List<List<String>> groups = new ArrayList<List<String>>();
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.trim().toLowerCase();
+                if (word.isEmpty() || !word.matches("[a-z]+")) {
+                    continue;
+                }
+                while (groups.size() <= word.length()) {
+                    groups.add(new ArrayList<String>());
+                }
+                groups.get(word.length()).add(word);
+            }
+        }
+        int maxLength = Math.max(groups.size() - 1, 0);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(maxLength);
+            int offset = HEADER_SIZE + maxLength * ENTRY_SIZE;
+            for (int length = 1; length <= maxLength; length++) {
+                List<String> group = groups.get(length);
+                group.sort(null);
+                dedupe(group);
+                out.writeInt(offset);
+                out.writeInt(group.size());
+                offset += group.size() * length;
+            }
+            for (int length = 1; length <= maxLength; length++) {
+                writeGroup(out, groups.get(length));
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Word ids are positions in the sorted words of each length, so they are only meaningful with the word list
+     * they were taken from. The checksum is computed on first use.
+     * @return a checksum of the whole word list
+     */
+    public synchronized int checksum() {
+        if (checksum < 0) {
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().clear());
+            checksum = crc.getValue();
+        }
+        return (int) checksum;
+    }
+
+    /**
+     * @return the length of the longest word in the dictionary
+     */
+    public int maxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @param length the word length
+     * @return the number of words with the given length
+     */
+    public int count(int length) {
+        if (length < 1 || length > maxLength) { return 0; }
+        return buffer.getInt(HEADER_SIZE + (length - 1) * ENTRY_SIZE + Integer.BYTES);
+    }
+
+    /**
+     * A read-only view of the letters of all words with the given length.
+     * @param length the word length
+     * @return a buffer of count(length) * length letter codes
+     */
+    public ByteBuffer letters(int length) {
+        if (length < 1 || length > maxLength) { return ByteBuffer.allocate(0); }
+        int offset = buffer.getInt(HEADER_SIZE + (length - 1) * ENTRY_SIZE);
+        return buffer.slice(offset, count(length) * length).asReadOnlyBuffer();
+    }
+
+    private static boolean isStale(Path source, Path target) throws IOException {
+        if (!Files.exists(target)) { return true; }
+        return Files.exists(source) && Files.getLastModifiedTime(source).compareTo(Files.getLastModifiedTime(target)) > 0;
+    }
+
+    private static void dedupe(List<String> sorted) {
+        for (int i = sorted.size() - 1; i > 0; i--) {
+            if (sorted.get(i).equals(sorted.get(i - 1))) {
+                sorted.remove(i);
+            }
+        }
+    }
+
+    private static void writeGroup(OutputStream out, List<String> group) throws IOException {
+        for (String word : group) {
+            byte[] row = new byte[word.length()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (word.charAt(i) - 'a');
+            }
+            out.write(row);
+        }
+    }
+
+}
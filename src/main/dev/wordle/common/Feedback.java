@@ -0,0 +1,69 @@
+package main.dev.wordle.common;
+
+/**
+ * The colour feedback that a guess receives, encoded as a base-3 number.
+ *
+ * The rules are the ones the game uses: a letter is correct (2) if the target has the same letter in the
+ * same position, partial (1) if the target contains the letter elsewhere and absent (0) otherwise.
+ * The first letter is the most significant digit, so "PLACE" against "PILOT" is 21000 in base 3.
+ * Words are given as packed codes and letter masks (see {@link Bucket#codes()} and {@link Bucket#masks()}),
+ * which lets the pattern be computed without any allocation.
+ */
+public class Feedback {
+
+    public static final int ABSENT = 0;
+    public static final int PARTIAL = 1;
+    public static final int CORRECT = 2;
+
+    /**
+     * @param length the word length
+     * @return the number of distinct patterns for words of that length, i.e. 3^length
+     */
+    public static int patterns(int length) {
+        int count = 1;
+        for (int i = 0; i < length; i++) {
+            count *= 3;
+        }
+        return count;
+    }
+
+    /**
+     * Compute the pattern of a guess against a target.
+     * @param guess the packed letters of the guess
+     * @param target the packed letters of the target
+     * @param targetMask the letter mask of the target
+     * @param length the word length
+     * @return the base-3 pattern
+     */
+    public static int score(long guess, long target, int targetMask, int length) {
+        int pattern = 0;
+        for (int shift = 5 * (length - 1); shift >= 0; shift -= 5) {
+            int letter = (int) (guess >>> shift) & 31;
+            int digit = letter == ((int) (target >>> shift) & 31) ? CORRECT : targetMask >>> letter & 1;
+            pattern = pattern * 3 + digit;
+        }
+        return pattern;
+    }
+
+    /**
+     * @return the pattern in which every letter is correct
+     */
+    public static int solved(int length) {
+        return patterns(length) - 1;
+    }
+
+    /**
+     * Extract the digit of a single position.
+     * @param pattern the base-3 pattern
+     * @param position the letter position
+     * @param length the word length
+     * @return one of ABSENT, PARTIAL or CORRECT
+     */
+    public static int digit(int pattern, int position, int length) {
+        for (int i = position + 1; i < length; i++) {
+            pattern /= 3;
+        }
+        return pattern % 3;
+    }
+
+}
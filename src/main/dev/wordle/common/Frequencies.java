@@ -0,0 +1,142 @@
+package main.dev.wordle.common;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How common every word is, as a score per word id.
+ *
+ * The scores come from an optional text file with one "word count" pair per line, such as the counts of a
+ * word frequency list; words that are not in the vocabulary are ignored and words that are not in the file
+ * score 0. Counts of a word listed more than once are added up, and totals too large for a long are capped. Without the file every score is 0, so ranking by score falls back to alphabetical order and
+ * sampling falls back to a uniform choice. With an answer list, only answers are sampled, still by their scores.
+ */
+public class Frequencies {
+
+    public static final String frequencyFile = "resources/frequencies.txt";
+
+    private final long[][] scores;
+    private final boolean[] available;
+    private final AliasTable[] aliases;
+    private final AliasTable[] answerAliases;
+
+    private Frequencies(long[][] scores) {
+        this.scores = scores;
+        this.available = new boolean[scores.length];
+        this.aliases = new AliasTable[scores.length];
+        this.answerAliases = new AliasTable[scores.length];
+        for (int length = 0; length < scores.length; length++) {
+            for (long score : scores[length]) {
+                if (score != 0) {
+                    available[length] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the scores of the words of a vocabulary
+     * @param path the frequency file
+     * @param vocabulary the words to score
+     * @param maxLength the length of the longest words to score
+     * @return the scores, all 0 if the file does not exist
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static Frequencies load(Path path, Vocabulary vocabulary, int maxLength) throws IOException {
+        long[][] scores = new long[maxLength + 1][];
+        for (int length = 0; length <= maxLength; length++) {
+            scores[length] = new long[vocabulary.ofLength(length).size];
+        }
+        if (!Files.exists(path)) { return new Frequencies(scores); }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length < 2 || parts[0].length() > maxLength || !parts[1].matches("\\d{1,18}")) { continue; }
+                int id = vocabulary.ofLength(parts[0].length()).indexOf(parts[0]);
+                if (id >= 0) {
+                    long[] words = scores[parts[0].length()];
+                    words[id] = saturatedAdd(words[id], Long.parseLong(parts[1]));
+                }
+            }
+        }
+        return new Frequencies(scores);
+    }
+
+    /**
+     * @return whether any word of the length has a score
+     */
+    public boolean available(int length) {
+        return length < available.length && available[length];
+    }
+
+    /**
+     * @return the scores of the words of a length indexed by word id; the array must not be modified
+     */
+    public long[] scores(int length) {
+        return length < scores.length ? scores[length] : new long[0];
+    }
+
+    /**
+     * Pick a word with a probability proportional to its score, or uniformly if no word of the bucket has a score
+     * @param bucket the words to pick from
+     * @return the id of the word
+     */
+    public int sample(Bucket bucket) {
+        AliasTable alias = alias(bucket.length);
+        return alias != null ? alias.sample(ThreadLocalRandom.current()) : ThreadLocalRandom.current().nextInt(bucket.size);
+    }
+
+    /**
+     * Pick an answer with a probability proportional to its score, or uniformly if no answer of the bucket has a
+     * score. Answers missing from the frequency file are never picked once another answer has a score.
+     * @param bucket the words to pick from
+     * @param answers the answers of the vocabulary the scores belong to
+     * @return the id of the answer
+     */
+    public int sample(Bucket bucket, Answers answers) {
+        if (!answers.available(bucket.length)) { return sample(bucket); }
+        if (!available(bucket.length)) { return answers.sample(bucket); }
+        int[] ids = answers.ids(bucket);
+        AliasTable alias = answerAliases[bucket.length];
+        if (alias == null) {
+            synchronized (this) {
+                if (answerAliases[bucket.length] == null) {
+                    long[] weights = new long[ids.length];
+                    for (int i = 0; i < ids.length; i++) {
+                        weights[i] = scores[bucket.length][ids[i]];
+                    }
+                    answerAliases[bucket.length] = AliasTable.build(weights);
+                }
+                alias = answerAliases[bucket.length];
+            }
+        }
+        return alias.size() > 0 ? ids[alias.sample(ThreadLocalRandom.current())] : answers.sample(bucket);
+    }
+
+    /**
+     * @return the alias table of a length, built on first use, or null if none of its words has a score
+     */
+    private AliasTable alias(int length) {
+        if (!available(length)) { return null; }
+        AliasTable alias = aliases[length];
+        if (alias == null) {
+            synchronized (this) {
+                if (aliases[length] == null) { aliases[length] = AliasTable.build(scores[length]); }
+                alias = aliases[length];
+            }
+        }
+        return alias;
+    }
+
+    private static long saturatedAdd(long score, long count) {
+        long sum = score + count;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+}
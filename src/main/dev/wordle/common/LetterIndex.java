@@ -0,0 +1,142 @@
+package main.dev.wordle.common;
+
+/**
+ * An inverted index of a bucket: for every letter the set of words that contain it, and for every
+ * position and letter the set of words with that letter at that position.
+ *
+ * A query is answered by combining a handful of these sets, one per constraint, so its cost depends
+ * on the number of constraints and the size of the sets rather than on testing every word; the
+ * number of matches is a popcount of the result.
+ */
+public class LetterIndex {
+
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    public final int length;
+    public final int size;
+    private final Bitset[] contains;
+    private final Bitset[] at;
+
+    private LetterIndex(int length, int size, Bitset[] contains, Bitset[] at) {
+        this.length = length;
+        this.size = size;
+        this.contains = contains;
+        this.at = at;
+    }
+
+    /**
+     * Build the index of a bucket
+     */
+    public static LetterIndex build(Bucket bucket) {
+        int[][] containsIds = new int[26][];
+        int[][] atIds = new int[26 * bucket.length][];
+        int[] containsCounts = new int[26];
+        int[] atCounts = new int[26 * bucket.length];
+        int[] masks = bucket.masks();
+        for (int id = 0; id < bucket.size; id++) {
+            for (int i = 0; i < bucket.length; i++) {
+                atCounts[26 * i + bucket.letter(id, i)]++;
+            }
+            for (int mask = masks[id]; mask != 0; mask &= mask - 1) {
+                containsCounts[Integer.numberOfTrailingZeros(mask)]++;
+            }
+        }
+        for (int i = 0; i < atIds.length; i++) { atIds[i] = new int[atCounts[i]]; }
+        for (int i = 0; i < 26; i++) { containsIds[i] = new int[containsCounts[i]]; }
+        int[] atNext = new int[atIds.length];
+        int[] containsNext = new int[26];
+        for (int id = 0; id < bucket.size; id++) {
+            for (int i = 0; i < bucket.length; i++) {
+                int slot = 26 * i + bucket.letter(id, i);
+                atIds[slot][atNext[slot]++] = id;
+            }
+            for (int mask = masks[id]; mask != 0; mask &= mask - 1) {
+                int letter = Integer.numberOfTrailingZeros(mask);
+                containsIds[letter][containsNext[letter]++] = id;
+            }
+        }
+        Bitset[] contains = new Bitset[26];
+        Bitset[] at = new Bitset[atIds.length];
+        for (int i = 0; i < 26; i++) { contains[i] = Bitset.of(containsIds[i], containsCounts[i], bucket.size); }
+        for (int i = 0; i < at.length; i++) { at[i] = Bitset.of(atIds[i], atCounts[i], bucket.size); }
+        return new LetterIndex(bucket.length, bucket.size, contains, at);
+    }
+
+    /**
+     * @return the words that contain the letter
+     */
+    public Bitset contains(int letter) {
+        return contains[letter];
+    }
+
+    /**
+     * @return the words with the letter at the position
+     */
+    public Bitset at(int position, int letter) {
+        return at[26 * position + letter];
+    }
+
+    /**
+     * Find the words that match a pattern
+     * @param allowed the letters allowed at each position as 26-bit masks
+     * @param required the letters that must appear somewhere in the word
+     * @return a bitmap of the matching word ids
+     */
+    public long[] select(int[] allowed, int required) {
+        int anywhere = 0;
+        for (int mask : allowed) {
+            anywhere |= mask;
+        }
+        long[] result = seed(allowed);
+        // letters allowed nowhere rule out every word containing them, whatever the position
+        for (int excluded = ALL_LETTERS & ~anywhere; excluded != 0; excluded &= excluded - 1) {
+            contains[Integer.numberOfTrailingZeros(excluded)].andNot(result);
+        }
+        for (int i = 0; i < length; i++) {
+            int mask = allowed[i];
+            if (Integer.bitCount(mask) == 1) {
+                at(i, Integer.numberOfTrailingZeros(mask)).and(result);
+                continue;
+            }
+            for (int excluded = anywhere & ~mask; excluded != 0; excluded &= excluded - 1) {
+                at(i, Integer.numberOfTrailingZeros(excluded)).andNot(result);
+            }
+        }
+        for (int letters = required; letters != 0; letters &= letters - 1) {
+            contains[Integer.numberOfTrailingZeros(letters)].and(result);
+        }
+        return result;
+    }
+
+    /**
+     * @return the number of words that match a pattern
+     */
+    public int count(int[] allowed, int required) {
+        return Bitset.cardinality(select(allowed, required));
+    }
+
+    /**
+     * Start from the smallest set the words must belong to, or from every word if there is none
+     */
+    private long[] seed(int[] allowed) {
+        Bitset smallest = null;
+        for (int i = 0; i < length; i++) {
+            if (Integer.bitCount(allowed[i]) == 1) {
+                Bitset candidate = at(i, Integer.numberOfTrailingZeros(allowed[i]));
+                if (smallest == null || candidate.cardinality() < smallest.cardinality()) { smallest = candidate; }
+            }
+        }
+        return smallest == null ? Bitset.full(size) : smallest.toBitmap();
+    }
+
+    /**
+     * @return the size of the index in bytes, ignoring the object headers
+     */
+    public long bytes() {
+        long bytes = 0;
+        for (Bitset set : contains) { bytes += set.bytes(); }
+        for (Bitset set : at) { bytes += set.bytes(); }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,103 @@
+package main.dev.wordle.common;
+
+import java.util.Arrays;
+
+/**
+ * Groups word ids by the feedback pattern a guess would receive against them, with a counting sort.
+ *
+ * A split computes the pattern of every word once, counts the words per pattern, turns the counts into the
+ * offset of each group and then places every id in its group, so it takes two passes over the words and one
+ * over the 3^length patterns. The scratch arrays are kept between splits and only grow, so splitting does not
+ * allocate anything once they are large enough. An instance is not thread-safe.
+ */
+public class Partition {
+
+    private final int length;
+    private final int[] start;
+    private final int[] next;
+    private int[] patterns = new int[0];
+    private int[] sorted = new int[0];
+    private int size = 0;
+
+    /**
+     * @param length the length of the words to split
+     */
+    public Partition(int length) {
+        this.length = length;
+        this.start = new int[Feedback.patterns(length) + 1];
+        this.next = new int[Feedback.patterns(length)];
+    }
+
+    /**
+     * Split words by the pattern of a guess against each of them
+     * @param bucket the words the ids refer to
+     * @param guess the packed letters of the guess, see {@link WordIndex#encode}
+     * @param ids the ids of the words to split
+     * @param count the number of ids to take from the array
+     */
+    public void split(Bucket bucket, long guess, int[] ids, int count) {
+        if (patterns.length < count) {
+            patterns = new int[count];
+            sorted = new int[count];
+        }
+        long[] codes = bucket.codes();
+        int[] masks = bucket.masks();
+        Arrays.fill(start, 0);
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            int pattern = Feedback.score(guess, codes[id], masks[id], length);
+            patterns[i] = pattern;
+            start[pattern + 1]++;
+        }
+        for (int pattern = 0; pattern < next.length; pattern++) {
+            start[pattern + 1] += start[pattern];
+            next[pattern] = start[pattern];
+        }
+        for (int i = 0; i < count; i++) {
+            sorted[next[patterns[i]]++] = ids[i];
+        }
+        size = count;
+    }
+
+    /**
+     * @return the number of words of the last split with the pattern
+     */
+    public int size(int pattern) {
+        return start[pattern + 1] - start[pattern];
+    }
+
+    /**
+     * @return the offset of the group of the pattern in {@link #ids()}
+     */
+    public int start(int pattern) {
+        return start[pattern];
+    }
+
+    /**
+     * @return the ids of the last split grouped by pattern, in increasing order of pattern and in their original
+     * order within a group; only the first {@link #total()} are valid and the array must not be modified
+     */
+    public int[] ids() {
+        return sorted;
+    }
+
+    /**
+     * @return the number of words of the last split
+     */
+    public int total() {
+        return size;
+    }
+
+    /**
+     * @return the pattern with the most words; among patterns of the same size, the one that reveals the least,
+     * i.e. the lowest
+     */
+    public int largest() {
+        int best = 0;
+        for (int pattern = 1; pattern < next.length; pattern++) {
+            if (size(pattern) > size(best)) { best = pattern; }
+        }
+        return best;
+    }
+
+}
@@ -0,0 +1,202 @@
+package main.dev.wordle.common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * The feedback pattern of every (guess, target) pair of a single word length, precomputed offline.
+ *
+ * Patterns are stored row by row (one row per guess) as a single byte for lengths of up to 5 letters,
+ * where every pattern fits in a byte, and as two bytes for longer words. The file records a checksum of the
+ * bucket it was built from, so a matrix is only rebuilt when the words of its length change, and it is
+ * memory-mapped so that lookups can start as soon as the file is opened.
+ * <pre>
+ *   int magic, int version, int length, int size, int width, int unused, long checksum
+ *   size * size patterns
+ * </pre>
+ */
+public class PatternMatrix {
+
+    public static final String directory = "resources/patterns";
+    public static final int MAX_LENGTH = 10;
+    public static final int DEFAULT_MAX_LENGTH = 5;
+    private static final int MAGIC = 0x57504154; // "WPAT"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    public final int length;
+    public final int size;
+    private final int width;
+    private final int rowsPerSegment;
+    private final ByteBuffer[] segments;
+
+    private PatternMatrix(int length, int size, ByteBuffer[] segments) {
+        this.length = length;
+        this.size = size;
+        this.width = width(length);
+        this.rowsPerSegment = rowsPerSegment(size, width);
+        this.segments = segments;
+    }
+
+    /**
+     * Build step: computes the matrices of the given lengths. By default only the playable lengths of up to
+     * DEFAULT_MAX_LENGTH letters are built, since a matrix takes size * size bytes (twice that past 5 letters):
+     * hundreds of megabytes at 5 letters and gigabytes from 6 on.
+     * Lengths whose words have not changed since their matrix was built are skipped.
+     * Usage: PatternMatrix [length...]
+     */
+    public static void main(String[] args) throws IOException {
+        Config config = new Config();
+        int[] lengths = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : IntStream.rangeClosed(config.MIN_WORD_LENGTH, Math.min(config.MAX_WORD_LENGTH, DEFAULT_MAX_LENGTH)).toArray();
+        Vocabulary vocabulary = Vocabulary.getInstance();
+        for (int length : lengths) {
+            Bucket bucket = vocabulary.ofLength(length);
+            if (load(bucket) != null) {
+                System.out.printf("Length %d is up to date%n", length);
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            build(bucket, path(length));
+            System.out.printf("Length %d: %d words in %d ms%n", length, bucket.size, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Map the matrix of a bucket if it has been built.
+     * @param bucket the words the matrix should cover
+     * @return the matrix, or null if it is missing or was built from different words
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static PatternMatrix load(Bucket bucket) throws IOException {
+        return load(bucket, path(bucket.length));
+    }
+
+    /**
+     * @param path the file to map
+     * @see #load(Bucket)
+     */
+    public static PatternMatrix load(Bucket bucket, Path path) throws IOException {
+        if (bucket.length > MAX_LENGTH || !Files.exists(path)) { return null; }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) { return null; }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            boolean valid = header.getInt(0) == MAGIC
+                    && header.getInt(4) == VERSION
+                    && header.getInt(8) == bucket.length
+                    && header.getInt(12) == bucket.size
+                    && header.getLong(24) == checksum(bucket)
+                    && channel.size() == HEADER_SIZE + (long) bucket.size * bucket.size * width(bucket.length);
+            if (!valid) { return null; }
+            return new PatternMatrix(bucket.length, bucket.size, map(channel, FileChannel.MapMode.READ_ONLY, bucket));
+        }
+    }
+
+    /**
+     * Compute the matrix of a bucket in parallel, one row per task, and write it to disk.
+     * The file is written next to the target and then moved into place, so readers never see a partial matrix.
+     * @param bucket the words to cover
+     * @param target the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void build(Bucket bucket, Path target) throws IOException {
+        if (bucket.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Patterns of words longer than " + MAX_LENGTH + " letters are not stored");
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        int width = width(bucket.length);
+        long[] codes = bucket.codes();
+        int[] masks = bucket.masks();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer[] segments = map(channel, FileChannel.MapMode.READ_WRITE, bucket);
+            int rowsPerSegment = rowsPerSegment(bucket.size, width);
+            IntStream.range(0, bucket.size).parallel().forEach(guess -> {
+                ByteBuffer segment = segments[guess / rowsPerSegment];
+                int offset = (guess % rowsPerSegment) * bucket.size * width;
+                for (int answer = 0; answer < bucket.size; answer++) {
+                    int pattern = Feedback.score(codes[guess], codes[answer], masks[answer], bucket.length);
+                    if (width == 1) {
+                        segment.put(offset + answer, (byte) pattern);
+                    } else {
+                        segment.putShort(offset + 2 * answer, (short) pattern);
+                    }
+                }
+            });
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(bucket.length).putInt(bucket.size).putInt(width).putInt(0)
+                    .putLong(checksum(bucket)).flip();
+            channel.write(header, 0);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param guess the word id of the guess
+     * @param target the word id of the target
+     * @return the feedback pattern, see {@link Feedback}
+     */
+    public int get(int guess, int target) {
+        ByteBuffer segment = segments[guess / rowsPerSegment];
+        int offset = (guess % rowsPerSegment) * size + target;
+        return width == 1 ? segment.get(offset) & 0xFF : segment.getShort(2 * offset) & 0xFFFF;
+    }
+
+    /**
+     * @return the location of the matrix for a word length
+     */
+    public static Path path(int length) {
+        return Paths.get(directory, length + ".bin");
+    }
+
+    private static int width(int length) {
+        return Feedback.patterns(length) <= 256 ? 1 : 2;
+    }
+
+    private static int rowsPerSegment(int size, int width) {
+        return (int) Math.max(1, SEGMENT_SIZE / ((long) Math.max(size, 1) * width));
+    }
+
+    /**
+     * Map the data section in segments of whole rows, since a single mapping cannot exceed 2GB
+     */
+    private static ByteBuffer[] map(FileChannel channel, FileChannel.MapMode mode, Bucket bucket) throws IOException {
+        int width = width(bucket.length);
+        long rowSize = (long) bucket.size * width;
+        int rowsPerSegment = rowsPerSegment(bucket.size, width);
+        int count = (bucket.size + rowsPerSegment - 1) / rowsPerSegment;
+        ByteBuffer[] segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            int rows = Math.min(rowsPerSegment, bucket.size - i * rowsPerSegment);
+            segments[i] = channel.map(mode, HEADER_SIZE + i * rowsPerSegment * rowSize, rows * rowSize);
+        }
+        return segments;
+    }
+
+    private static long checksum(Bucket bucket) {
+        CRC32 crc = new CRC32();
+        for (int id = 0; id < bucket.size; id++) {
+            for (int i = 0; i < bucket.length; i++) {
+                crc.update(bucket.letter(id, i));
+            }
+        }
+        return crc.getValue();
+    }
+
+}
@@ -1,49 +1,140 @@
 package main.dev.wordle.common;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
+import java.util.AbstractList;
 import java.util.List;
+import java.util.RandomAccess;
 
 /**
  * A class for handling the vocabulary.
+ *
+ * The words of each length are served by an immutable {@link Bucket}, see {@link #ofLength(int)}, which is
+ * shared by every caller. The length-filtered state of the vocabulary itself ({@link #filter(int)},
+ * {@link #words}, {@link #sample()}) is only kept for older callers.
  */
 public class Vocabulary {
 
     private static Vocabulary INSTANCE;
 
-    public List<String> words;
+    private final Dictionary dictionary;
+    private final Bucket[] buckets;
+    private volatile Frequencies frequencies;
+    private volatile Answers answers;
+    private volatile int length = 0;
+    /**
+     * @deprecated use {@link #ofLength(int)}, whose buckets are not replaced by other callers
+     */
+    @Deprecated
+    public volatile List<String> words;
 
     private Vocabulary() throws IOException {
-        this.words = load();
+        this.dictionary = load();
+        this.buckets = new Bucket[dictionary.maxLength() + 1];
+        this.words = new AllWords();
     }
 
     /**
      * Vocabulary singleton
      */
-    public static Vocabulary getInstance() throws IOException {
+    public static synchronized Vocabulary getInstance() throws IOException {
         if (INSTANCE == null) { INSTANCE = new Vocabulary(); }
         return INSTANCE;
     }
 
     /**
-     * Loads a list of words from the English dictionary.
-     * The file contains roughly ~500K words.
+     * Loads the English dictionary which contains roughly ~370K words.
+     * The dictionary is memory-mapped from its binary form, so nothing is parsed up front.
      *
-     * @return A list of words.
+     * @return The dictionary.
      * @throws IOException If the file cannot be read.
      */
-    private static List<String> load() throws IOException {
-        return Files.readAllLines(Paths.get("resources/words.txt"), StandardCharsets.UTF_8);
+    private static Dictionary load() throws IOException {
+        return Dictionary.load();
     }
 
     /**
      * Filters a list of words to retain only those that match a required length
      * @param length The required length.
+     * @deprecated this changes the vocabulary for every caller; use {@link #ofLength(int)} instead
      */
+    @Deprecated
     public void filter(int length) {
-        this.words = words.stream().filter(word -> word.length() == length).toList();
+        this.length = length;
+        this.words = ofLength(length).asList();
+    }
+
+    /**
+     * Returns all the words of a given length without decoding any of the other lengths.
+     * The bucket is built on first use and then shared: it never changes, so any number of threads can use it.
+     * @param length The required length.
+     * @return the bucket of words with the given length, empty if there are none
+     */
+    public Bucket ofLength(int length) {
+        if (length < 1 || length >= buckets.length) {
+            return new Bucket(length, ByteBuffer.allocate(0));
+        }
+        Bucket bucket = buckets[length];
+        if (bucket == null) {
+            synchronized (this) {
+                if (buckets[length] == null) {
+                    buckets[length] = new Bucket(length, dictionary.letters(length));
+                }
+                bucket = buckets[length];
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Returns how common the words are, read from the optional frequency file on first use
+     * @return the scores of the words, all 0 if there is no frequency file
+     */
+    public Frequencies frequencies() {
+        Frequencies result = frequencies;
+        if (result == null) {
+            synchronized (this) {
+                if (frequencies == null) {
+                    try {
+                        frequencies = Frequencies.load(Paths.get(Frequencies.frequencyFile), this, buckets.length - 1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                result = frequencies;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the words that can be the answer of a game, read from the optional answer file on first use
+     * @return the answers, every word if there is no answer file
+     */
+    public Answers answers() {
+        Answers result = answers;
+        if (result == null) {
+            synchronized (this) {
+                if (answers == null) {
+                    try {
+                        answers = Answers.load(Paths.get(Answers.answerFile), this, buckets.length - 1);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                result = answers;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return a checksum of the word list, which changes whenever word ids may refer to other words
+     */
+    public int checksum() {
+        return dictionary.checksum();
     }
 
     /**
@@ -51,15 +142,50 @@ public class Vocabulary {
      * @return true if the word appears in the dictionary, false otherwise
      */
     public boolean contains(String word) {
-        return words.contains(word.toLowerCase());
+        int length = this.length;
+        if (length != 0 && word.length() != length) { return false; }
+        return ofLength(word.length()).contains(word);
     }
 
     /**
      * Sample a random word from the vocabulary.
      * @return A random word.
+     * @deprecated use {@link Bucket#sample()} on {@link #ofLength(int)}
      */
+    @Deprecated
     public String sample() {
-        return words.get((int) (Math.random() * this.words.size())).toUpperCase();
+        List<String> words = this.words;
+        return words.get((int) (Math.random() * words.size())).toUpperCase();
+    }
+
+    /**
+     * A read-only view over every bucket, in order of increasing length
+     */
+    private class AllWords extends AbstractList<String> implements RandomAccess {
+
+        @Override
+        public String get(int index) {
+            for (int length = 1; length < buckets.length; length++) {
+                int size = dictionary.count(length);
+                if (index < size) { return ofLength(length).get(index); }
+                index -= size;
+            }
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int length = 1; length < buckets.length; length++) {
+                size += dictionary.count(length);
+            }
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof String word && ofLength(word.length()).contains(word);
+        }
     }
 
 }
@@ -0,0 +1,138 @@
+package main.dev.wordle.common;
+
+import java.util.Arrays;
+
+/**
+ * A membership index for the words of a single length.
+ *
+ * Every word is packed into a long with 5 bits per letter and stored in an open-addressing hash table
+ * (linear probing) next to its word id. A small Bloom filter can optionally sit in front of the table,
+ * so that most of the words that are not in the dictionary are rejected without probing it.
+ * Packing limits the index to words of up to {@link #MAX_LENGTH} letters.
+ */
+public class WordIndex {
+
+    public static final int MAX_LENGTH = 12;
+    private static final long EMPTY = -1;
+    private static final int BLOOM_BITS_PER_WORD = 8;
+
+    private final long[] codes;
+    private final int[] ids;
+    private final int mask;
+    private final long[] bloom;
+
+    /**
+     * Build the index over a bucket.
+     * @param bucket the words to index; they must not be longer than MAX_LENGTH
+     * @param withBloomFilter whether lookups should be screened by a Bloom filter first
+     */
+    public WordIndex(Bucket bucket, boolean withBloomFilter) {
+        if (bucket.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Words longer than " + MAX_LENGTH + " letters cannot be packed");
+        }
+        int capacity = Integer.highestOneBit(Math.max(bucket.size, 1) * 2 - 1) << 1;
+        codes = new long[capacity];
+        ids = new int[capacity];
+        mask = capacity - 1;
+        bloom = withBloomFilter ? new long[Math.max(1, bucket.size * BLOOM_BITS_PER_WORD / Long.SIZE)] : null;
+        Arrays.fill(codes, EMPTY);
+        for (int id = 0; id < bucket.size; id++) {
+            insert(encode(bucket, id), id);
+        }
+    }
+
+    /**
+     * Pack a word into a long, 5 bits per letter. Case is ignored.
+     * @param word the word
+     * @return the packed code, or -1 if the word is too long or contains anything other than letters
+     */
+    public static long encode(CharSequence word) {
+        if (word.length() > MAX_LENGTH) { return EMPTY; }
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = Bucket.code(word.charAt(i));
+            if (letter < 0 || letter > 25) { return EMPTY; }
+            code = code << 5 | letter;
+        }
+        return code;
+    }
+
+    /**
+     * Pack a word of the bucket into a long, 5 bits per letter.
+     */
+    public static long encode(Bucket bucket, int id) {
+        long code = 0;
+        for (int i = 0; i < bucket.length; i++) {
+            code = code << 5 | bucket.letter(id, i);
+        }
+        return code;
+    }
+
+    /**
+     * @param word the word to look up, in any case
+     * @return the word id or -1 if the word is not in the index
+     */
+    public int indexOf(CharSequence word) {
+        long code = encode(word);
+        return code == EMPTY ? -1 : indexOf(code);
+    }
+
+    /**
+     * @param code the packed word
+     * @return the word id or -1 if the word is not in the index
+     */
+    public int indexOf(long code) {
+        long hash = mix(code);
+        if (bloom != null && !mightContain(hash)) { return -1; }
+        for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+            if (codes[slot] == code) { return ids[slot]; }
+            if (codes[slot] == EMPTY) { return -1; }
+        }
+    }
+
+    private void insert(long code, int id) {
+        long hash = mix(code);
+        int slot = (int) hash & mask;
+        while (codes[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        codes[slot] = code;
+        ids[slot] = id;
+        if (bloom != null) {
+            for (int k = 0; k < 3; k++) {
+                int bit = bloomBit(hash, k);
+                bloom[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private boolean mightContain(long hash) {
+        for (int k = 0; k < 3; k++) {
+            int bit = bloomBit(hash, k);
+            if ((bloom[bit >>> 6] & (1L << bit)) == 0) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Derive the k-th Bloom filter bit from the upper half of the hash (the lower half picks the table slot)
+     */
+    private int bloomBit(long hash, int k) {
+        int h1 = (int) (hash >>> 32);
+        int h2 = (int) (hash >>> 16) | 1;
+        return Math.floorMod(h1 + k * h2, bloom.length * Long.SIZE);
+    }
+
+    /**
+     * MurmurHash3 finaliser
+     */
+    private static long mix(long code) {
+        code ^= code >>> 33;
+        code *= 0xff51afd7ed558ccdL;
+        code ^= code >>> 33;
+        code *= 0xc4ceb9fe1a85ec53L;
+        code ^= code >>> 33;
+        return code;
+    }
+
+}
@@ -0,0 +1,116 @@
+package main.dev.wordle.game;
+
+import main.dev.wordle.common.Bucket;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Several games played at once (like Quordle or Octordle): every guess is played on each board that has not
+ * been solved yet, and the player wins by solving them all.
+ *
+ * Each board is a {@link State} with its own view and rules. A guess only has to be a word, since it cannot
+ * follow the rules of every board at the same time. The player gets one more guess than in a single game for
+ * every extra board.
+ */
+public class Boards {
+
+    public final State[] boards;
+    public final int maxGuesses;
+    private int turns = 0;
+
+    /**
+     * @param words the word of every board
+     * @param guesses the number of guesses of a single game
+     */
+    public Boards(String[] words, int guesses) {
+        this.boards = new State[words.length];
+        this.maxGuesses = guesses + words.length - 1;
+        for (int i = 0; i < words.length; i++) {
+            boards[i] = new State(words[i].toUpperCase());
+            boards[i].setMaxGuesses(maxGuesses);
+        }
+    }
+
+    /**
+     * Pick different answers for the boards
+     * @param bucket the words of the game's length
+     * @param answers the ids of the words that can be the answer
+     * @param count the number of boards
+     * @return the words of the boards
+     */
+    public static String[] pick(Bucket bucket, int[] answers, int count) {
+        if (count > answers.length) {
+            throw new IllegalArgumentException("There are only " + answers.length + " answers of length " + bucket.length);
+        }
+        int[] shuffled = answers.clone();
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            int j = i + ThreadLocalRandom.current().nextInt(shuffled.length - i);
+            int id = shuffled[j];
+            shuffled[j] = shuffled[i];
+            words[i] = bucket.get(id).toUpperCase();
+        }
+        return words;
+    }
+
+    /**
+     * Play a guess on every board that is still in play
+     * @param input the guess
+     * @return the reason why the guess is not accepted, or null if it was played
+     */
+    public String guess(String input) {
+        String formattedInput = input.toUpperCase();
+        String error = boards[0].validator().checkWord(formattedInput);
+        if (error != null) {
+            return error;
+        }
+        for (State board : boards) {
+            if (!board.finished) {
+                board.apply(formattedInput);
+            }
+        }
+        turns++;
+        return null;
+    }
+
+    /**
+     * @return the number of guesses played
+     */
+    public int turns() {
+        return turns;
+    }
+
+    /**
+     * @return the number of boards that have been solved
+     */
+    public int solved() {
+        int solved = 0;
+        for (State board : boards) {
+            if (board.correct) { solved++; }
+        }
+        return solved;
+    }
+
+    /**
+     * @return whether every board is over, solved or out of guesses
+     */
+    public boolean finished() {
+        for (State board : boards) {
+            if (!board.finished) { return false; }
+        }
+        return true;
+    }
+
+    /**
+     * Display every board with the guess it was solved in, if any
+     */
+    public void show() {
+        for (int i = 0; i < boards.length; i++) {
+            State board = boards[i];
+            String status = board.correct ? " solved in " + board.guesses : "";
+            System.out.printf("%2d: %s%s%n", i + 1, board.getColouredView(), status);
+        }
+        System.out.printf("Guesses: %d of %d%n", turns, maxGuesses);
+    }
+
+}
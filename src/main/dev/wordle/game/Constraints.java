@@ -0,0 +1,162 @@
+package main.dev.wordle.game;
+
+import main.dev.wordle.common.Answers;
+import main.dev.wordle.common.Bitset;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+
+import java.util.Arrays;
+
+/**
+ * What the guesses so far have revealed about the word, compiled into letter masks
+ * (one bit per letter, 'A' is the lowest bit) and an array of the letters fixed at each position.
+ *
+ * The rules are updated after every guess, and checking a new guess against them only reads
+ * its characters, so it does not allocate anything.
+ */
+public class Constraints {
+
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+    private static final int NONE = -1;
+
+    public final int length;
+    private int eliminated = 0;
+    private int required = 0;
+    private final int[] fixed;
+    private final int[] misplaced;
+
+    public Constraints(int length) {
+        this.length = length;
+        this.fixed = new int[length];
+        this.misplaced = new int[length];
+        Arrays.fill(fixed, NONE);
+    }
+
+    /**
+     * @param letter a letter that is not in the word
+     */
+    public void eliminate(char letter) {
+        eliminated |= 1 << code(letter);
+    }
+
+    /**
+     * @param position the position of a letter that was guessed right
+     * @param letter the letter
+     */
+    public void fix(int position, char letter) {
+        fixed[position] = code(letter);
+    }
+
+    /**
+     * @param position the position where the letter was guessed
+     * @param letter a letter that is in the word, but elsewhere
+     */
+    public void require(int position, char letter) {
+        required |= 1 << code(letter);
+        misplaced[position] |= 1 << code(letter);
+    }
+
+    /**
+     * Account for the feedback to a guess
+     * @param guess the guessed word
+     * @param pattern the feedback, see {@link Feedback}
+     */
+    public void record(CharSequence guess, int pattern) {
+        for (int i = length - 1; i >= 0; i--, pattern /= 3) {
+            switch (pattern % 3) {
+                case Feedback.CORRECT -> fix(i, guess.charAt(i));
+                case Feedback.PARTIAL -> require(i, guess.charAt(i));
+                default -> eliminate(guess.charAt(i));
+            }
+        }
+    }
+
+    /**
+     * Replace the eliminated letters
+     */
+    void setEliminated(int mask) {
+        eliminated = mask;
+    }
+
+    /**
+     * Replace the letters that are known to be in the word, without their positions
+     */
+    void setRequired(int mask) {
+        required = mask;
+        Arrays.fill(misplaced, 0);
+    }
+
+    /**
+     * Forget the letters that were guessed right
+     */
+    void clearFixed() {
+        Arrays.fill(fixed, NONE);
+    }
+
+    /**
+     * @param word a word, in any case
+     * @return the letters of the word as a mask, or -1 if it contains anything other than letters
+     */
+    public static int mask(CharSequence word) {
+        int mask = 0;
+        for (int i = 0; i < word.length(); i++) {
+            int letter = code(word.charAt(i));
+            if (letter < 0 || letter > 25) { return NONE; }
+            mask |= 1 << letter;
+        }
+        return mask;
+    }
+
+    /**
+     * Check that the word does not use any eliminated letter
+     * @param mask the letters of the word
+     */
+    public boolean excludesEliminated(int mask) {
+        return (mask & eliminated) == 0;
+    }
+
+    /**
+     * Check that the word has the letters that were guessed right at their positions
+     */
+    public boolean matchesFixed(CharSequence word) {
+        for (int i = 0; i < length; i++) {
+            if (fixed[i] != NONE && code(word.charAt(i)) != fixed[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that the word uses every letter that is known to be in it
+     * @param mask the letters of the word
+     */
+    public boolean includesRequired(int mask) {
+        return (mask & required) == required;
+    }
+
+    /**
+     * Count the words that are still possible answers: besides the rules above, a letter that was guessed
+     * in the wrong position cannot be at that position.
+     * @param bucket the words of the right length
+     * @param answers the words that can be the answer
+     * @return the number of answers consistent with every guess so far
+     */
+    public int remaining(Bucket bucket, Answers answers) {
+        int[] allowed = new int[length];
+        for (int i = 0; i < length; i++) {
+            allowed[i] = (fixed[i] != NONE ? 1 << fixed[i] : ALL_LETTERS) & ~eliminated & ~misplaced[i];
+        }
+        if (!answers.available(length)) {
+            return bucket.letterIndex().count(allowed, required);
+        }
+        long[] matches = bucket.letterIndex().select(allowed, required);
+        answers.retain(length, matches);
+        return Bitset.cardinality(matches);
+    }
+
+    private static int code(char letter) {
+        return (letter | 0x20) - 'a';
+    }
+
+}
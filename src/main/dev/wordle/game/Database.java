@@ -1,60 +1,192 @@
 package main.dev.wordle.game;
 
-import com.opencsv.bean.CsvBindByPosition;
-import com.opencsv.bean.CsvToBeanBuilder;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
 
-import java.io.FileReader;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+/**
+ * The history of played games, stored as a binary {@link History} log with its {@link Stats} alongside.
+ * A history kept in the older CSV format is migrated the first time the log is opened.
+ */
 public class Database {
 
     /**
      * Record data structure
+     * @param word the word that had to be guessed, or null if it is not in the vocabulary
+     * @param victory whether the word was guessed
+     * @param guesses the number of guesses used
+     * @param timestamp when the game ended, in milliseconds since the epoch, or 0 if unknown
      */
-    public static class Record {
-        @CsvBindByPosition(position = 0)
-        private String word;
-        @CsvBindByPosition(position = 1)
-        private boolean victory;
-        @CsvBindByPosition(position = 2)
-        private int guesses;
+    public record Record(String word, boolean victory, int guesses, long timestamp) {
     }
 
-    public static String location = System.getProperty("user.home") + "/.cache/wordle/history.txt";
+    public static String location = System.getProperty("user.home") + "/.cache/wordle/history.bin";
+    public static String legacyLocation = System.getProperty("user.home") + "/.cache/wordle/history.txt";
 
-    private static Path getConnection() throws IOException {
+    private static final Vocabulary vocabulary;
+    private static History.Writer writer;
+    private static FileChannel sidecar;
+    private static Path writerPath;
+    private static Stats stats;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Open the log for appending, creating it (and migrating the old history) if needed.
+     * A header cut short by a crash is rewritten by the writer, which is why it is not read here.
+     * The log and its statistics are kept open between games and reopened if the location changes.
+     */
+    private static synchronized History.Writer getConnection() throws IOException {
         Path path = Paths.get(location);
+        if (writer != null && path.equals(writerPath)) {
+            return writer;
+        }
+        close();
         if (!Files.exists(path)) {
-            Files.createDirectories(path.getParent());
-            Files.createFile(path);
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            migrate(Paths.get(legacyLocation), path);
+        } else if (Files.size(path) >= History.HEADER && History.open(path).words() != vocabulary.checksum()) {
+            forgetWords(path);
+        }
+        writer = new History.Writer(path, vocabulary.checksum());
+        sidecar = FileChannel.open(getSidecar(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        writerPath = path;
+        return writer;
+    }
+
+    /**
+     * Convert a CSV history ("word,victory,guesses" per line) into a new log.
+     * The log is written next to its final location and moved into place once complete, so an interrupted
+     * migration is simply repeated. The CSV file is left untouched; its games have no timestamp.
+     */
+    private static void migrate(Path legacy, Path target) throws IOException {
+        if (!Files.exists(legacy)) {
+            return;
+        }
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedReader reader = Files.newBufferedReader(legacy, StandardCharsets.UTF_8);
+             History.Writer migrated = new History.Writer(temporary, vocabulary.checksum())) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.trim().split(",");
+                if (fields.length < 3) { continue; }
+                try {
+                    migrated.append(encode(fields[0]), Boolean.parseBoolean(fields[1]), Integer.parseInt(fields[2]), 0);
+                } catch (NumberFormatException e) {
+                    // skip malformed lines
+                }
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Rewrite a log that was written against another word list. Its word ids may now be other words or out of
+     * range, and the old list is gone, so the words of its records become unknown; everything else is kept.
+     * Like a migration, the log is rewritten next to its location and then moved into place.
+     */
+    private static void forgetWords(Path path) throws IOException {
+        History history = History.open(path);
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (History.Writer rewritten = new History.Writer(temporary, vocabulary.checksum())) {
+            for (int i = 0; i < history.size(); i++) {
+                int word = History.word(History.length(history.word(i)), History.UNKNOWN);
+                rewritten.append(word, history.victory(i), history.guesses(i), history.timestamp(i));
+            }
         }
-        return path;
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 
     /**
      * Write state to the database
      */
     public static void write(State state) throws IOException {
-        Path connection = getConnection();
-        String record = createRecordString(state);
-        Files.writeString(connection, record + System.lineSeparator(), StandardOpenOption.APPEND);
+        write(state.getWord(), state.correct, state.guesses);
+    }
+
+    /**
+     * Write the outcome of a game to the database
+     */
+    public static synchronized void write(String word, boolean victory, int guesses) throws IOException {
+        Stats stats = stats();
+        getConnection().append(encode(word), victory, guesses, System.currentTimeMillis());
+        stats.add(word.length(), victory, guesses);
+        stats.save(sidecar);
+    }
+
+    /**
+     * The aggregates are read from the sidecar once and then kept up to date with every write
+     * @return the statistics over every game in the database
+     */
+    public static synchronized Stats stats() throws IOException {
+        getConnection();
+        if (stats == null) {
+            stats = Stats.sync(getSidecar(), sidecar, History.open(Paths.get(location)));
+        }
+        return stats;
+    }
+
+    private static Path getSidecar() {
+        return Paths.get(location + ".stats");
+    }
+
+    /**
+     * Memory-map the log as it is now
+     */
+    public static synchronized History history() throws IOException {
+        getConnection();
+        return History.open(Paths.get(location));
+    }
+
+    /**
+     * Iterate over the records without loading them all; words are decoded as the records are reached
+     */
+    public static Iterator<Record> records() throws IOException {
+        History history = history();
+        return new Iterator<Record>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < history.size();
+            }
+
+            @Override
+            public Record next() {
+                if (!hasNext()) { throw new NoSuchElementException(); }
+                int i = next++;
+                return new Record(decode(history.word(i)), history.victory(i), history.guesses(i), history.timestamp(i));
+            }
+        };
     }
 
     /**
      * Read a list of records from the database.
      */
     public static List<Record> read() throws IOException {
-        getConnection();
-        return new CsvToBeanBuilder<Record>(new FileReader(location))
-                .withType(Record.class)
-                .withSeparator(',')
-                .build()
-                .parse();
+        List<Record> records = new ArrayList<Record>();
+        records().forEachRemaining(records::add);
+        return records;
     }
 
     /**
@@ -62,54 +194,51 @@ public class Database {
      * @throws IOException - if the file could not be read
      */
     public static void summarize() throws IOException {
-        List<Record> records = read();
+        Stats stats = stats();
         String result = String.format(
-                "your stats: %d games with %.2f%% win rate and %.2f average guesses\n",
-                records.size(),
-                getWinRate(records),
-                getAverageGuesses(records)
+                "your stats: %d games with %.2f%% win rate and %.2f average guesses, current streak %d (best %d)\n",
+                stats.games(),
+                stats.winRate(),
+                stats.averageGuesses(),
+                stats.currentStreak(),
+                stats.maxStreak()
         );
         System.out.println(result);
     }
 
     /**
-     * Build a record that will be saved into the database
+     * Find the word in the vocabulary so that the record only needs its id
      */
-    private static String createRecordString(State state) {
-        return String.format("%s,%s,%d", state.getWord(), state.correct, state.guesses);
+    private static int encode(String word) {
+        return History.word(word.length(), vocabulary.ofLength(word.length()).indexOf(word));
     }
 
-    /**
-     * Calculate the win rate of the game
-     */
-    private static double getWinRate(List<Record> records) {
-        int wins = 0;
-        for (Record record : records) {
-            if (record.victory) {
-                wins++;
-            }
-        }
-        return 100.0 * wins / records.size();
+    private static String decode(int word) {
+        int id = History.id(word);
+        Bucket bucket = vocabulary.ofLength(History.length(word));
+        return id == History.UNKNOWN || id >= bucket.size ? null : bucket.get(id).toUpperCase();
     }
 
-    /**
-     * Calculate the average number of guesses per game
-     */
-    private static double getAverageGuesses(List<Record> records) {
-        int total = 0;
-        for (Record record : records) {
-            total += record.guesses;
+    private static synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            sidecar.close();
+            writer = null;
+            sidecar = null;
+            writerPath = null;
+            stats = null;
         }
-        return 1.0 * total / records.size();
     }
 
     /**
      * Delete table if exists
      * @throws IOException - when cannot access the file
      */
-    public static void drop() throws IOException {
+    public static synchronized void drop() throws IOException {
+        close();
         Path path = Paths.get(location);
         Files.deleteIfExists(path);
+        Files.deleteIfExists(getSidecar());
     }
 
 }
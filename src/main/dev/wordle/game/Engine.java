@@ -0,0 +1,145 @@
+package main.dev.wordle.game;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Vocabulary;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hosts any number of independent game sessions.
+ *
+ * The vocabulary and configuration are shared by every session and never modified, while each session
+ * has a state of its own, so the engine can be used from many threads at once. Every action returns
+ * a {@link Result} rather than printing anything.
+ */
+public class Engine {
+
+    private final Config config;
+    private final Vocabulary vocabulary;
+    private final Map<Long, Session> sessions = new ConcurrentHashMap<Long, Session>();
+    private final AtomicLong ids = new AtomicLong();
+
+    public Engine() throws IOException {
+        this(new Config(), Vocabulary.getInstance());
+    }
+
+    public Engine(Config config, Vocabulary vocabulary) {
+        this.config = config;
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Start a new game with a random answer, weighted by its frequency
+     * @param length the length of the word
+     * @return the new session
+     * @throws IllegalArgumentException if the length is outside of the configured range
+     */
+    public Session create(int length) {
+        checkLength(length);
+        Bucket bucket = vocabulary.ofLength(length);
+        return create(bucket.get(vocabulary.frequencies().sample(bucket, vocabulary.answers())));
+    }
+
+    /**
+     * Start a new game with a given word
+     * @param word the word to be guessed
+     * @return the new session
+     */
+    public Session create(String word) {
+        return open(new State(word.toUpperCase()));
+    }
+
+    /**
+     * Start a new game in the adversarial mode, where the word is only settled by the guesses
+     * @param length the length of the word
+     * @return the new session
+     * @throws IllegalArgumentException if the length is outside of the configured range
+     */
+    public Session createAdversarial(int length) {
+        checkLength(length);
+        Bucket bucket = vocabulary.ofLength(length);
+        return open(State.adversarial(bucket, vocabulary.answers().ids(bucket)));
+    }
+
+    private Session open(State state) {
+        Session session = new Session(ids.incrementAndGet(), state);
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    private void checkLength(int length) {
+        if (length < config.MIN_WORD_LENGTH || length > config.MAX_WORD_LENGTH) {
+            throw new IllegalArgumentException(String.format(
+                    "Word length must be between %d and %d", config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH
+            ));
+        }
+    }
+
+    /**
+     * @param id the session id
+     * @return the session
+     * @throws NoSuchElementException if there is no such session
+     */
+    public Session get(long id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            throw new NoSuchElementException("No such session: " + id);
+        }
+        return session;
+    }
+
+    /**
+     * Make a guess in a session
+     */
+    public Result guess(long id, String input) {
+        return get(id).guess(input);
+    }
+
+    /**
+     * Request a hint in a session
+     */
+    public Result hint(long id) {
+        return get(id).hint();
+    }
+
+    /**
+     * Close a session, whether its game is over or not
+     * @return the final state of the game
+     */
+    public Result finish(long id) {
+        Session session = sessions.remove(id);
+        if (session == null) {
+            throw new NoSuchElementException("No such session: " + id);
+        }
+        return session.status();
+    }
+
+    /**
+     * Close every session that has not been used for a while
+     * @param maxIdleMillis how long a session may stay idle, in milliseconds
+     * @return the number of sessions that were closed
+     */
+    public int evict(long maxIdleMillis) {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        int evicted = 0;
+        for (Session session : sessions.values()) {
+            if (session.lastAccess() < cutoff && sessions.remove(session.id, session)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * @return the number of open sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+}
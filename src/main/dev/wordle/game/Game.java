@@ -1,11 +1,14 @@
 package main.dev.wordle.game;
 
+import main.dev.wordle.common.Bucket;
 import main.dev.wordle.common.Config;
 import main.dev.wordle.common.Vocabulary;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -14,17 +17,25 @@ import java.util.Scanner;
  * This class is responsible for facilitating the game.
  * This involves welcoming the player, initializing the word,
  * prompting the player for guesses and orchestrating each round.
+ * Run it with --absurdle for the adversarial mode, in which the word changes to dodge every guess,
+ * or with --boards N to play N words at once with the same guesses.
  */
 public class Game {
 
     private static final Config config;
-    private static final Vocabulary vocabulary;
+    private static final Engine engine;
     private static final Scanner scanner = new Scanner(System.in);
+    private static final String ADVERSARIAL_FLAG = "--absurdle";
+    private static final String BOARDS_FLAG = "--boards";
+    private static final int MAX_BOARDS = 32;
+    private static final String USAGE = "Usage: Game [" + ADVERSARIAL_FLAG + " | " + BOARDS_FLAG + " N]\n"
+            + "  N is the number of boards to play at once, between 1 and " + MAX_BOARDS;
+    private static boolean adversarial = false;
 
     static {
         try {
             config = new Config();
-            vocabulary = Vocabulary.getInstance();
+            engine = new Engine(config, Vocabulary.getInstance());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -34,61 +45,159 @@ public class Game {
      * Main method
      */
     public static void main(String[] args) throws IOException {
+        List<String> arguments = Arrays.asList(args);
+        adversarial = arguments.contains(ADVERSARIAL_FLAG);
+        int boards = boards(arguments);
+        if (boards < 0 || (adversarial && boards > 1)) {
+            System.out.println(USAGE);
+            System.exit(2);
+        }
         welcome();
-        State state = initialize();
-        play(state);
+        if (boards > 1) {
+            play(new Boards(pick(boards), config.GUESSES));
+            return;
+        }
+        Session session = initialize();
+        play(session);
+    }
+
+    /**
+     * Read the number of boards from the arguments
+     * @return the number of boards, 1 without the flag, or -1 if the flag is not followed by a number between 1
+     * and MAX_BOARDS or other arguments are not recognised
+     */
+    private static int boards(List<String> arguments) {
+        int boards = 1;
+        for (int i = 0; i < arguments.size(); i++) {
+            String argument = arguments.get(i);
+            if (argument.equals(BOARDS_FLAG)) {
+                if (i + 1 == arguments.size() || !arguments.get(i + 1).matches("\\d{1,9}")) { return -1; }
+                boards = Integer.parseInt(arguments.get(++i));
+                if (boards < 1 || boards > MAX_BOARDS) { return -1; }
+            } else if (!argument.equals(ADVERSARIAL_FLAG)) {
+                return -1;
+            }
+        }
+        return boards;
+    }
+
+    /**
+     * Ask the player for the word length until it has enough answers for every board to get a different one
+     * @param boards the number of boards
+     * @return the words of the boards
+     */
+    private static String[] pick(int boards) throws IOException {
+        Vocabulary vocabulary = Vocabulary.getInstance();
+        int length = chooseLength();
+        Bucket bucket = vocabulary.ofLength(length);
+        int[] answers = vocabulary.answers().ids(bucket);
+        if (answers.length < boards) {
+            System.out.printf("There are only %d answers of length %d. Please try again.%n", answers.length, length);
+            return pick(boards);
+        }
+        return Boards.pick(bucket, answers, boards);
     }
 
     /**
      * Round orchestration. This method is responsible for listening for user input
      * and processing the response.
-     * @param state - the current state of the game which contains the history of guesses
+     * @param session - the current game which contains the history of guesses
      * @throws IOException - if any of the files could not be read
      */
-    private static void play(State state) throws IOException {
+    private static void play(Session session) throws IOException {
         System.out.println("\n");
-        state.show();
+        session.withState(State::show);
         System.out.println("Enter a guess: \n");
         String input = scanner.nextLine();
         switch (input) {
             case Config.HELP_STRING -> help();
             case Config.QUIT_STRING -> quit();
-            case Config.HINT_STRING -> state.hint();
-            case Config.DEBUG_STRING -> state.debug();
-            default -> state.update(input);
+            case Config.HINT_STRING -> report(session.hint());
+            case Config.DEBUG_STRING -> session.withState(State::debug);
+            default -> report(session.guess(input));
         }
-        if(state.finished) {
-            debrief(state);
+        if(session.status().finished()) {
+            debrief(session);
         } else {
-            play(state);
+            play(session);
         }
     }
 
+    /**
+     * Round orchestration of a multi-board game: every guess is played on all the boards still in play.
+     * Hints are not available, since a hint would only help one board. The history and its statistics are about
+     * single games, so multi-board games are not recorded.
+     * @param boards - the boards being played
+     * @throws IOException - if any of the files could not be read
+     */
+    private static void play(Boards boards) throws IOException {
+        while (!boards.finished()) {
+            System.out.println("\n");
+            boards.show();
+            System.out.println("Enter a guess: \n");
+            String input = scanner.nextLine();
+            switch (input) {
+                case Config.HELP_STRING -> help();
+                case Config.QUIT_STRING -> quit();
+                case Config.HINT_STRING -> System.out.println("Hints are not available with several boards\n");
+                case Config.DEBUG_STRING -> Arrays.stream(boards.boards).forEach(State::debug);
+                default -> {
+                    String error = boards.guess(input);
+                    if (error != null) { System.out.println(error + "\n"); }
+                }
+            }
+        }
+        boards.show();
+        System.out.printf("%nYou solved %d of %d boards%n", boards.solved(), boards.boards.length);
+        for (State board : boards.boards) {
+            if (!board.correct) { System.out.println("The word was: " + board.getWord()); }
+        }
+        quit();
+    }
+
     /**
      * Initialisation of the game.
      * This method asks user to select the word length, validates the input and then
-     * samples a random word from the vocabulary with the selected length.
-     * @return a new state object with a clean slate
+     * starts a game with a random word of the selected length.
+     * @return a new session with a clean slate
+     */
+    private static Session initialize() {
+        int wordLength = chooseLength();
+        return adversarial ? engine.createAdversarial(wordLength) : engine.create(wordLength);
+    }
+
+    /**
+     * Ask the player for the word length until it is valid
+     * @return the word length
      */
-    private static State initialize() {
+    private static int chooseLength() {
         String prompt = "Choose word length (between %d and %d inclusive): \n";
         System.out.printf(prompt, config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH);
         String wordLengthStr = scanner.nextLine();
         int wordLength = Integer.parseInt(wordLengthStr);
         if (wordLength < config.MIN_WORD_LENGTH || wordLength > config.MAX_WORD_LENGTH) {
             System.out.println("Invalid word length. Please try again.");
-            initialize();
+            return chooseLength();
+        }
+        return wordLength;
+    }
+
+    /**
+     * Display the message that came with the outcome of an action, if any
+     */
+    private static void report(Result result) {
+        if (result.message() != null) {
+            System.out.println(result.message() + "\n");
         }
-        vocabulary.filter(wordLength);
-        return new State(vocabulary.sample());
     }
 
     /**
      * Conclude the game.
      * This method displays the score, the word and saves the result into the database
      */
-    private static void debrief(State state) throws IOException {
-        Database.write(state);
+    private static void debrief(Session session) throws IOException {
+        Result result = engine.finish(session.id);
+        Database.write(session.word(), result.correct(), result.guesses());
         Database.summarize();
         quit();
     }
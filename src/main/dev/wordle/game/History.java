@@ -0,0 +1,189 @@
+package main.dev.wordle.game;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The history of games: an append-only log of fixed-width binary records.
+ *
+ * The file starts with a 16-byte header (magic "WHST", version, record size and the checksum of the word list
+ * the word ids refer to, see {@link main.dev.wordle.common.Vocabulary#checksum}) followed by 16-byte records,
+ * so record i lives at a known offset and the whole log can be memory-mapped and read without parsing anything:
+ *   int   word      - the word length in the top byte and the word id within its length below (see {@link #word})
+ *   byte  victory   - 1 if the word was guessed
+ *   byte  guesses   - the number of guesses used
+ *   short unused
+ *   long  timestamp - when the game ended, in milliseconds since the epoch, or 0 if unknown
+ */
+public class History {
+
+    private static final int MAGIC = 0x57485354;
+    private static final int VERSION = 1;
+    public static final int HEADER = 16;
+    private static final int RECORD = 16;
+    public static final int UNKNOWN = 0xFFFFFF;
+
+    private final ByteBuffer records;
+    private final int size;
+    private final int words;
+
+    private History(ByteBuffer records, int words) {
+        this.records = records;
+        this.size = records.capacity() / RECORD;
+        this.words = words;
+    }
+
+    /**
+     * Memory-map a history file. Records appended afterwards are not visible to the returned instance.
+     * A trailing partial record, left behind by an interrupted write, is ignored.
+     * @param path the history file
+     * @return the history
+     * @throws IOException if the file cannot be read or is not a history file
+     */
+    public static History open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length == 0) {
+                return new History(ByteBuffer.allocate(0), 0);
+            }
+            int words = checkHeader(channel);
+            long records = (length - HEADER) / RECORD * RECORD;
+            if (records > Integer.MAX_VALUE) {
+                throw new IOException("History file is too large: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER, records);
+            return new History(buffer.order(ByteOrder.BIG_ENDIAN), words);
+        }
+    }
+
+    /**
+     * Pack a word into the 32 bits of a record
+     * @param length the length of the word
+     * @param id the id of the word within its length, or {@link #UNKNOWN} if it is not in the vocabulary
+     */
+    public static int word(int length, int id) {
+        return (Math.min(length, 0xFF) << 24) | (id < 0 || id > UNKNOWN ? UNKNOWN : id);
+    }
+
+    /**
+     * @param word a packed word
+     * @return the length of the word
+     */
+    public static int length(int word) {
+        return word >>> 24;
+    }
+
+    /**
+     * @param word a packed word
+     * @return the id of the word within its length, or {@link #UNKNOWN}
+     */
+    public static int id(int word) {
+        return word & UNKNOWN;
+    }
+
+    /**
+     * @return the checksum of the word list the word ids of the records refer to, or 0 for an empty file
+     */
+    public int words() {
+        return words;
+    }
+
+    /**
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the packed word of record i
+     */
+    public int word(int i) {
+        return records.getInt(i * RECORD);
+    }
+
+    public boolean victory(int i) {
+        return records.get(i * RECORD + 4) != 0;
+    }
+
+    public int guesses(int i) {
+        return records.get(i * RECORD + 5) & 0xFF;
+    }
+
+    public long timestamp(int i) {
+        return records.getLong(i * RECORD + 8);
+    }
+
+    /**
+     * @return the checksum of the word list recorded in the header
+     */
+    private static int checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER);
+        channel.read(header, 0);
+        header.flip();
+        if (header.remaining() < HEADER || header.getInt() != MAGIC || header.getInt() != VERSION
+                || header.getInt() != RECORD) {
+            throw new IOException("Not a history file");
+        }
+        return header.getInt();
+    }
+
+    /**
+     * Appends records to a history file, creating the file if needed.
+     * The file is kept open between appends; every record is written with a single call.
+     * Records can only be appended to a file written against the same word list.
+     */
+    public static class Writer implements Closeable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(RECORD);
+
+        /**
+         * @param path the history file
+         * @param words the checksum of the word list the word ids refer to
+         * @throws IOException if the file cannot be opened, or was written against another word list
+         */
+        public Writer(Path path, int words) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long length = channel.size();
+            if (length < HEADER) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(MAGIC).putInt(VERSION).putInt(RECORD).putInt(words);
+                header.flip();
+                channel.truncate(0);
+                channel.write(header, 0);
+                length = HEADER;
+            } else if (checkHeader(channel) != words) {
+                channel.close();
+                throw new IOException("History file was written against another word list: " + path);
+            }
+            // drop a partial record left by an interrupted write so that later records stay aligned
+            long aligned = HEADER + (length - HEADER) / RECORD * RECORD;
+            channel.truncate(aligned);
+            channel.position(aligned);
+        }
+
+        public void append(int word, boolean victory, int guesses, long timestamp) throws IOException {
+            buffer.clear();
+            buffer.putInt(word)
+                    .put((byte) (victory ? 1 : 0))
+                    .put((byte) Math.min(guesses, 0xFF))
+                    .putShort((short) 0)
+                    .putLong(timestamp);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package main.dev.wordle.game;
+
+/**
+ * The outcome of a single action in a game, returned instead of being printed so that
+ * a game can be driven by something other than the console.
+ *
+ * @param accepted whether the action changed the state of the game
+ * @param message a message for the player, or null if there is nothing to say
+ * @param view what the player knows about the word: uppercase letters are in the right place,
+ *             lowercase letters are in the word but elsewhere and asterisks are still hidden
+ * @param eliminated the letters that are not in the word, sorted
+ * @param guesses the number of guesses used so far
+ * @param finished whether the game is over
+ * @param correct whether the word was guessed
+ */
+public record Result(
+        boolean accepted,
+        String message,
+        String view,
+        String eliminated,
+        int guesses,
+        boolean finished,
+        boolean correct
+) {
+}
@@ -0,0 +1,79 @@
+package main.dev.wordle.game;
+
+import java.util.function.Consumer;
+
+/**
+ * A single game hosted by the {@link Engine}.
+ * The state of a session is only ever touched while holding the session's lock, so the same session
+ * can safely receive requests from several threads while different sessions never block each other.
+ */
+public class Session {
+
+    public final long id;
+    private final State state;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    Session(long id, State state) {
+        this.id = id;
+        this.state = state;
+    }
+
+    /**
+     * Make a guess
+     * @param input the guess
+     * @return the outcome of the guess
+     */
+    public synchronized Result guess(String input) {
+        touch();
+        if (state.finished) {
+            return state.status("The game is over");
+        }
+        return state.update(input);
+    }
+
+    /**
+     * Request a hint
+     * @return the outcome of the request
+     */
+    public synchronized Result hint() {
+        touch();
+        if (state.finished) {
+            return state.status("The game is over");
+        }
+        return state.hint();
+    }
+
+    /**
+     * @return the current state of the game
+     */
+    public synchronized Result status() {
+        touch();
+        return state.status();
+    }
+
+    /**
+     * @return the word that has to be guessed
+     */
+    public synchronized String word() {
+        return state.getWord();
+    }
+
+    /**
+     * Run an action on the state of the session while holding its lock
+     */
+    public synchronized void withState(Consumer<State> action) {
+        action.accept(state);
+    }
+
+    /**
+     * @return the time of the last guess, hint or status request, in milliseconds since the epoch
+     */
+    public long lastAccess() {
+        return lastAccess;
+    }
+
+    private void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+}
@@ -1,30 +1,46 @@
 package main.dev.wordle.game;
 
+import main.dev.wordle.common.Bucket;
 import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Partition;
+import main.dev.wordle.common.WordIndex;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
  * This class manages the state of the game.
  * As such, it keeps track of the number of guesses, what the player has discovered about the word
  * and whether the game is over or not.
+ *
+ * All the state belongs to the instance, so any number of games can be played at the same time,
+ * but a single instance must not be updated from several threads at once (see {@link Session}).
+ *
+ * In the adversarial mode (see {@link #adversarial}) the word is not chosen up front. The state keeps every
+ * answer that is consistent with the feedback so far, and every guess gets the feedback that keeps the most
+ * answers in play; the word is then any of them, since they all give the guess the same feedback.
  */
 public class State {
 
     private final Validator validator;
     private static final Config config;
-    private static boolean hintUsed = false;
+    private boolean hintUsed = false;
     private static final String HIDDEN_CHAR = Colours.HIDDEN + "*" + Colours.RESET;
-    private static final List<String> view = new ArrayList<String>();
-    public static final Set<Character> partiallyDiscoveredChars = new HashSet<Character>();
+    private final List<String> view = new ArrayList<String>();
+    public final Set<Character> partiallyDiscoveredChars = new HashSet<Character>();
     public Map<Integer, Character> discoveredChars = new HashMap<Integer, Character>();
     public Set<Character> eliminatedChars = new HashSet<Character>();;
     public List<Character> wordArray;
     public boolean finished = false;
     public boolean correct = false;
     public int guesses = 0;
+    private int maxGuesses = config.GUESSES;
+    private final Bucket bucket;
+    private final Partition partition;
+    private int[] candidates;
+    private int remaining;
 
     static {
         try {
@@ -40,9 +56,7 @@ public class State {
      * @param input the word to be guessed.
      */
     public State(String input) {
-        wordArray = toArray(input);
-        validator = new Validator(input);
-        initializeView();
+        this(input, new Validator(input));
     }
 
     /**
@@ -52,9 +66,34 @@ public class State {
     public State(String input, Validator v) {
         wordArray = toArray(input);
         validator = v;
+        bucket = null;
+        partition = null;
         initializeView();
     }
 
+    private State(Bucket bucket, int[] answers) {
+        String input = bucket.get(answers[0]).toUpperCase();
+        wordArray = toArray(input);
+        validator = new Validator(input);
+        this.bucket = bucket;
+        this.partition = new Partition(bucket.length);
+        this.candidates = answers.clone();
+        this.remaining = answers.length;
+        initializeView();
+    }
+
+    /**
+     * Constructs a new state that avoids the word for as long as it can
+     * @param bucket the words of the game's length
+     * @param answers the ids of the words that can be the answer
+     */
+    public static State adversarial(Bucket bucket, int[] answers) {
+        if (answers.length == 0) {
+            throw new IllegalArgumentException("There are no words of length " + bucket.length);
+        }
+        return new State(bucket, answers);
+    }
+
     /**
      * Shows the visual representation of the word that needs to be guessed.
      * At first, the entire word will be concealed but gradually, as the
@@ -64,7 +103,7 @@ public class State {
      * different place
      */
     public void show() {
-        System.out.println(String.join("", view));
+        System.out.println(getColouredView());
         System.out.println("Eliminated letters: " + getEliminatedCharsString());
     }
 
@@ -74,36 +113,69 @@ public class State {
      * 2. incrementing the guess count
      * 3. Updating the view of the word which reveals to the player what they got right
      * @param input - input text from the player
+     * @return - the outcome of the guess
      */
-    public void update(String input) {
+    public Result update(String input) {
         String formattedInput = format(input);
-        validator.setEliminated(eliminatedChars);
-        validator.setDiscoveredLetters(discoveredChars);
-        validator.setPartiallyDiscoveredLetters(partiallyDiscoveredChars);
-        if (validator.validate(formattedInput)) {
-            evaluate(formattedInput);
-            guesses++;
-            if (guesses == config.GUESSES && !finished) {
-                System.out.println("You are out of guesses! The word was: " + getWord());
-                finished = true;
-            }
+        if (!validator.validate(formattedInput)) {
+            return result(false, validator.check(formattedInput));
         }
+        return apply(formattedInput);
+    }
+
+    /**
+     * Count a guess that is known to be a word, without checking it against the rules learnt so far.
+     * This is how the boards of a multi-board game are updated, since a guess cannot follow the rules
+     * of every board at once.
+     * @param input - a word of the right length
+     * @return - the outcome of the guess
+     */
+    public Result apply(String input) {
+        String formattedInput = format(input);
+        if (partition != null) {
+            narrow(formattedInput);
+        }
+        evaluate(formattedInput);
+        guesses++;
+        if (correct) {
+            return result(true, "Victory!");
+        }
+        if (guesses >= maxGuesses) {
+            finished = true;
+            return result(true, "You are out of guesses! The word was: " + getWord());
+        }
+        return result(true, null);
     }
 
     /**
      * Provide a hint to the player by revealing one
      * of the undiscovered letters randomly.
+     * @return - the outcome of the request
      */
-    public void hint() {
+    public Result hint() {
         if (hintUsed) {
-            System.out.println("You have already used a hint!");
-            return;
+            return result(false, "You have already used a hint!");
         }
         if (countHidden() == 1) {
-            System.out.println("There is only one letter left to guess!");
-            return;
+            return result(false, "There is only one letter left to guess!");
         }
         revealRandomLetter();
+        return result(true, "We have revealed a letter for you");
+    }
+
+    /**
+     * @return - the current state of the game without changing it
+     */
+    public Result status() {
+        return status(null);
+    }
+
+    /**
+     * @param message - a message for the player
+     * @return - the current state of the game without changing it
+     */
+    public Result status(String message) {
+        return result(false, message);
     }
 
     /**
@@ -116,38 +188,77 @@ public class State {
         System.out.println("View: " + view);
         System.out.println("Eliminated: " + getEliminatedCharsString());
         System.out.println("Guesses: " + guesses);
+        System.out.println("Possible answers: " + (partition != null ? remaining : validator.remaining()));
         System.out.println("------------------------------");
     }
 
     /**
      * Evaluate a guess by comparing it against the target word.
      * Along the way, update the view and the state (what letters have been used and guessed)
+     * as well as the rules the validator checks the next guesses against
      * @param input - the guess made by the player
      */
     private void evaluate(String input) {
         List<Character> inputArray = toArray(input);
+        Constraints constraints = validator.constraints();
         for (int i = 0; i < inputArray.size(); i++) {
             Character correctLetter = wordArray.get(i);
             Character guessedLetter = inputArray.get(i);
             if (guessedLetter == correctLetter) {
                 view.set(i, Colours.CORRECT + correctLetter + Colours.RESET);
                 discoveredChars.put(i, correctLetter);
+                constraints.fix(i, correctLetter);
             }
             else if ((guessedLetter != correctLetter) & wordArray.contains(guessedLetter)) {
                 view.set(i, Colours.PARTIAL + guessedLetter + Colours.RESET);
                 partiallyDiscoveredChars.add(guessedLetter);
+                constraints.require(i, guessedLetter);
             }
             else {
                 eliminatedChars.add(guessedLetter);
+                constraints.eliminate(guessedLetter);
             }
         }
         if (!view.contains(HIDDEN_CHAR)) {
             finished = true;
             correct = true;
-            System.out.println("Victory!");
         }
     }
 
+    /**
+     * Adversarial mode: split the answers still in play by the feedback the guess would get against each of them
+     * and keep the largest group, then take its first word as the word to evaluate the guess against
+     * @param input - the guess made by the player
+     */
+    private void narrow(String input) {
+        partition.split(bucket, WordIndex.encode(input), candidates, remaining);
+        int pattern = partition.largest();
+        remaining = partition.size(pattern);
+        System.arraycopy(partition.ids(), partition.start(pattern), candidates, 0, remaining);
+        wordArray = toArray(bucket.get(candidates[0]).toUpperCase());
+    }
+
+    /**
+     * Adversarial mode: only keep the answers with a revealed letter
+     */
+    private void keep(int position, char letter) {
+        int code = Character.toLowerCase(letter) - 'a';
+        int kept = 0;
+        for (int i = 0; i < remaining; i++) {
+            if (bucket.letter(candidates[i], position) == code) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+        remaining = kept;
+    }
+
+    /**
+     * @return the number of answers still in play in the adversarial mode, or -1 in the normal mode
+     */
+    public int remaining() {
+        return partition != null ? remaining : -1;
+    }
+
     /**
      * Preprocess input text
      * @param input - raw input text from the player
@@ -184,16 +295,17 @@ public class State {
      * Reveal a random undiscovered letter
      */
     private void revealRandomLetter() {
-        Random random = new Random();
         List<Integer> hiddenIndices = new ArrayList<Integer>();
         for(int i = 0; i < wordArray.size(); i++) {
             if(view.get(i).equals(HIDDEN_CHAR)) {
                 hiddenIndices.add(i);
             }
         }
-        int randomIndex = random.nextInt(hiddenIndices.size());
+        int randomIndex = hiddenIndices.get(ThreadLocalRandom.current().nextInt(hiddenIndices.size()));
         view.set(randomIndex, wordArray.get(randomIndex).toString());
-        System.out.println("We have revealed a letter for you");
+        if (partition != null) {
+            keep(randomIndex, wordArray.get(randomIndex));
+        }
         hintUsed = true;
         guesses++;
     }
@@ -207,6 +319,27 @@ public class State {
         }
     }
 
+    /**
+     * Change the number of guesses the player has, which is GUESSES from the config by default
+     */
+    void setMaxGuesses(int maxGuesses) {
+        this.maxGuesses = maxGuesses;
+    }
+
+    /**
+     * @return the rules learnt from the guesses so far
+     */
+    public Validator validator() {
+        return validator;
+    }
+
+    /**
+     * Get the view with the colours of the console
+     */
+    public String getColouredView() {
+        return String.join("", view);
+    }
+
     /**
      * Get the string representation of the word that the player is trying to guess
      */
@@ -214,8 +347,33 @@ public class State {
         return String.join("", wordArray.stream().map(Object::toString).toList());
     }
 
+    /**
+     * Get the view without colours: uppercase letters are in the right place (or were revealed by a hint),
+     * lowercase letters are in the word but elsewhere and asterisks are still hidden
+     */
+    public String getView() {
+        StringBuilder builder = new StringBuilder();
+        for (String s : view) {
+            if (s.equals(HIDDEN_CHAR)) {
+                builder.append('*');
+            } else if (s.startsWith(Colours.PARTIAL)) {
+                builder.append(Character.toLowerCase(s.charAt(Colours.PARTIAL.length())));
+            } else if (s.startsWith(Colours.CORRECT)) {
+                builder.append(s.charAt(Colours.CORRECT.length()));
+            } else {
+                builder.append(s);
+            }
+        }
+        return builder.toString();
+    }
+
     private String getEliminatedCharsString() {
         return String.join(",", eliminatedChars.stream().map(Object::toString).sorted().toList());
     }
 
+    private Result result(boolean accepted, String message) {
+        String eliminated = String.join("", eliminatedChars.stream().map(Object::toString).sorted().toList());
+        return new Result(accepted, message, getView(), eliminated, guesses, finished, correct);
+    }
+
 }
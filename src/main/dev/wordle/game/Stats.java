@@ -0,0 +1,186 @@
+package main.dev.wordle.game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Running aggregates over the {@link History}, so that statistics never require a pass over the log.
+ *
+ * The aggregates are kept in a small sidecar file next to the log. It remembers how many records of the
+ * log it covers: when the log is longer the missing records are added, and when the sidecar is missing,
+ * corrupt or claims more records than the log has it is rebuilt from scratch.
+ */
+public class Stats {
+
+    private static final int MAGIC = 0x57535441;
+    private static final int VERSION = 1;
+    /** Guess counts and word lengths beyond this are counted in the last slot */
+    public static final int SLOTS = 32;
+    private static final int SIZE = 4 + 4 + 8 * 4 + 4 + 4 + 8 * 4 * SLOTS + 8;
+
+    private long records;
+    private long games;
+    private long wins;
+    private long guesses;
+    private int currentStreak;
+    private int maxStreak;
+    private final long[] histogram = new long[SLOTS];
+    private final long[] gamesByLength = new long[SLOTS];
+    private final long[] winsByLength = new long[SLOTS];
+    private final long[] guessesByLength = new long[SLOTS];
+
+    /**
+     * Bring the aggregates of a log up to date
+     * @param path the sidecar file
+     * @param channel the sidecar file, open for writing
+     * @param history the log
+     * @return the aggregates over every record of the log
+     * @throws IOException if the sidecar cannot be written
+     */
+    public static Stats sync(Path path, FileChannel channel, History history) throws IOException {
+        Stats stats = load(path);
+        if (stats == null || stats.records > history.size()) {
+            stats = new Stats();
+        }
+        if (stats.records < history.size()) {
+            for (int i = (int) stats.records; i < history.size(); i++) {
+                stats.add(History.length(history.word(i)), history.victory(i), history.guesses(i));
+            }
+            stats.save(channel);
+        }
+        return stats;
+    }
+
+    /**
+     * @return the aggregates stored in the sidecar, or null if it is missing or corrupt
+     */
+    public static Stats load(Path path) throws IOException {
+        if (!Files.exists(path) || Files.size(path) != SIZE) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, SIZE - 8);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong(SIZE - 8) != crc.getValue()) {
+            return null;
+        }
+        Stats stats = new Stats();
+        stats.records = buffer.getLong();
+        stats.games = buffer.getLong();
+        stats.wins = buffer.getLong();
+        stats.guesses = buffer.getLong();
+        stats.currentStreak = buffer.getInt();
+        stats.maxStreak = buffer.getInt();
+        for (long[] array : new long[][] {stats.histogram, stats.gamesByLength, stats.winsByLength, stats.guessesByLength}) {
+            for (int i = 0; i < SLOTS; i++) {
+                array[i] = buffer.getLong();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Overwrite the sidecar in place. This is cheap enough to do after every game; if the write is
+     * interrupted the checksum no longer matches and the sidecar is rebuilt on the next load.
+     */
+    public void save(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putLong(records).putLong(games).putLong(wins).putLong(guesses)
+                .putInt(currentStreak).putInt(maxStreak);
+        for (long[] array : new long[][] {histogram, gamesByLength, winsByLength, guessesByLength}) {
+            for (long value : array) {
+                buffer.putLong(value);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, SIZE - 8);
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+    }
+
+    /**
+     * Account for one more game
+     * @param length the length of the word
+     * @param victory whether the word was guessed
+     * @param guesses the number of guesses used
+     */
+    public void add(int length, boolean victory, int guesses) {
+        int slot = Math.min(length, SLOTS - 1);
+        records++;
+        games++;
+        gamesByLength[slot]++;
+        this.guesses += guesses;
+        guessesByLength[slot] += guesses;
+        histogram[Math.min(guesses, SLOTS - 1)]++;
+        if (victory) {
+            wins++;
+            winsByLength[slot]++;
+            currentStreak++;
+            maxStreak = Math.max(maxStreak, currentStreak);
+        } else {
+            currentStreak = 0;
+        }
+    }
+
+    public long games() {
+        return games;
+    }
+
+    public long wins() {
+        return wins;
+    }
+
+    /**
+     * @return the percentage of games won
+     */
+    public double winRate() {
+        return 100.0 * wins / games;
+    }
+
+    public double averageGuesses() {
+        return 1.0 * guesses / games;
+    }
+
+    /**
+     * @return the number of games won in a row, up to the last game
+     */
+    public int currentStreak() {
+        return currentStreak;
+    }
+
+    public int maxStreak() {
+        return maxStreak;
+    }
+
+    /**
+     * @return the number of games that used the given number of guesses
+     */
+    public long histogram(int guesses) {
+        return histogram[Math.min(guesses, SLOTS - 1)];
+    }
+
+    public long games(int length) {
+        return gamesByLength[Math.min(length, SLOTS - 1)];
+    }
+
+    public long wins(int length) {
+        return winsByLength[Math.min(length, SLOTS - 1)];
+    }
+
+    public double winRate(int length) {
+        return 100.0 * wins(length) / games(length);
+    }
+
+    public double averageGuesses(int length) {
+        return 1.0 * guessesByLength[Math.min(length, SLOTS - 1)] / games(length);
+    }
+
+}
@@ -6,12 +6,21 @@ import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Checks guesses against the rules of the game. What is known about the word is kept as compiled
+ * {@link Constraints}, which the state updates after every guess, so checking a guess does not allocate.
+ */
 public class Validator {
 
+    private static final String LETTERS_ONLY = "Input must contains only letters";
+    private static final String ELIMINATED = "You have already used these letters";
+    private static final String NOT_A_WORD = "Input is not a recognised English word";
+    private static final String DISCOVERED = "You have to use previously discovered letters";
+    private static final String PARTIALLY_DISCOVERED = "You have to use previously partially discovered letters";
+
     public final List<Character> word;
-    private Set<Character> eliminatedChars = new HashSet<Character>();
-    private Set<Character> partiallyDiscoveredChars = new HashSet<Character>();
-    private Map<Integer, Character> discoveredLetters = new HashMap<Integer, Character>();
+    private final Constraints constraints;
+    private final String lengthMessage;
     private static final Vocabulary vocabulary;
     static {
         try {
@@ -23,85 +32,105 @@ public class Validator {
 
     public Validator(String input) {
         word = toArray(input);
+        constraints = new Constraints(input.length());
+        lengthMessage = String.format("Input must contain %d letters only", input.length());
+    }
+
+    /**
+     * @return the rules learnt from the guesses so far
+     */
+    public Constraints constraints() {
+        return constraints;
     }
 
     public void setEliminated(Set<Character> eliminated) {
-        eliminatedChars = eliminated;
+        constraints.setEliminated(Constraints.mask(toString(eliminated)));
     }
 
     public void setDiscoveredLetters(Map<Integer, Character> discovered) {
-        discoveredLetters = discovered;
+        constraints.clearFixed();
+        discovered.forEach(constraints::fix);
     }
 
     public void setPartiallyDiscoveredLetters(Set<Character> partiallyDiscovered) {
-        partiallyDiscoveredChars = partiallyDiscovered;
+        constraints.setRequired(Constraints.mask(toString(partiallyDiscovered)));
     }
 
+    /**
+     * @return whether the guess is accepted
+     */
     public boolean validate(String input) {
+        return check(input) == null;
+    }
+
+    /**
+     * @return the reason why the guess is not accepted, or null if it is valid
+     */
+    public String check(String input) {
         if (!containsLettersOnly(input)) {
-            System.out.println("Input must contains only letters\n");
-            return false;
+            return LETTERS_ONLY;
         }
-        if (!isOfExpectedLength(input)) {
-            System.out.printf("Input must contain %d letters only\n", word.size());
-            return false;
+        if (input.length() != constraints.length) {
+            return lengthMessage;
         }
-        if (!notUsingEliminatedChars(input)) {
-            System.out.println("You have already used these letters\n");
-            return false;
+        int mask = Constraints.mask(input);
+        if (!constraints.excludesEliminated(mask)) {
+            return ELIMINATED;
         }
         if (!isWord(input)) {
-            System.out.println("Input is not a recognised English word\n");
-            return false;
+            return NOT_A_WORD;
         }
-        if (!usesDiscoveredLetters(input)) {
-            System.out.println("You have to use previously discovered letters\n");
-            return false;
+        if (!constraints.matchesFixed(input)) {
+            return DISCOVERED;
         }
-        if (!usesPartiallyDiscoveredLetters(input)) {
-            System.out.println("You have to use previously partially discovered letters\n");
-            return false;
+        if (!constraints.includesRequired(mask)) {
+            return PARTIALLY_DISCOVERED;
         }
-        return true;
+        return null;
     }
 
-    private boolean notUsingEliminatedChars(String input) {
-        Set<Character> inputChars = new HashSet<Character>(toArray(input));
-        inputChars.retainAll(eliminatedChars);
-        return inputChars.isEmpty();
+    /**
+     * Check that the guess is a word of the right length, without the rules learnt from the previous guesses
+     * @return the reason why the guess is not a word, or null if it is one
+     */
+    public String checkWord(String input) {
+        if (!containsLettersOnly(input)) {
+            return LETTERS_ONLY;
+        }
+        if (input.length() != constraints.length) {
+            return lengthMessage;
+        }
+        if (!isWord(input)) {
+            return NOT_A_WORD;
+        }
+        return null;
     }
 
-    private boolean isOfExpectedLength(String input) {
-        return input.length() == word.size();
+    /**
+     * @return the number of words that are still possible answers
+     */
+    public int remaining() {
+        return constraints.remaining(vocabulary.ofLength(constraints.length), vocabulary.answers());
     }
 
     private static boolean containsLettersOnly(String input) {
-        return input.matches("[A-Z]+");
+        if (input.isEmpty()) { return false; }
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c < 'A' || c > 'Z') { return false; }
+        }
+        return true;
     }
 
     private static List<Character> toArray(String input) {
         return input.chars().mapToObj(c -> (char) c).collect(Collectors.toList());
     }
 
-    private boolean isWord(String input) {
-        return vocabulary.contains(input);
+    private static String toString(Set<Character> letters) {
+        return letters.stream().map(String::valueOf).collect(Collectors.joining());
     }
 
-    private boolean usesDiscoveredLetters(String input) {
-        List<Character> inputArray = toArray(input);
-        for (int i = 0; i < inputArray.size(); i++) {
-            if (discoveredLetters.containsKey(i)) {
-                if (inputArray.get(i) != discoveredLetters.get(i)) {
-                    return false;
-                }
-            }
-        }
-        return true;
-    }
-
-    private boolean usesPartiallyDiscoveredLetters(String input) {
-        HashSet<Character> inputChars = new HashSet<Character>(toArray(input));
-        inputChars.retainAll(partiallyDiscoveredChars);
-        return inputChars.size() == partiallyDiscoveredChars.size();
+    private boolean isWord(String input) {
+        return vocabulary.ofLength(input.length()).contains(input);
     }
 }
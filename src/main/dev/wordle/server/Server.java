@@ -0,0 +1,188 @@
+package main.dev.wordle.server;
+
+import main.dev.wordle.game.Engine;
+import main.dev.wordle.game.Result;
+import main.dev.wordle.game.Session;
+import picocli.CommandLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@CommandLine.Command(
+        name = "server",
+        mixinStandardHelpOptions = true,
+        version = "1.0",
+        description = """
+                Hosts Wordle games over a line-based TCP protocol on the loopback interface.
+                Every request is a single line and every response is a single line of JSON:
+                  NEW <length> [ABSURDLE]  start a game with a random word of the given length, or one
+                                           where the word dodges the guesses for as long as it can
+                  GUESS <id> <word>        make a guess
+                  HINT <id>                reveal a letter (uses up a guess)
+                  STATUS <id>              show the state of a game
+                  END <id>                 close a game and reveal the word
+                A connection can drive any number of games. Games that are idle for too long are closed.
+                Example: java -jar wordle.jar server -p 4000
+                """
+)
+public class Server implements Runnable {
+
+    @CommandLine.Option(
+            names = {"-p", "--port"},
+            description = "Port to listen on"
+    )
+    private static int port = 4000;
+
+    @CommandLine.Option(
+            names = {"-i", "--idle"},
+            description = "Minutes after which an idle game is closed"
+    )
+    private static int idleMinutes = 30;
+
+    private static final Engine engine;
+
+    static {
+        try {
+            engine = new Engine();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new Server()).execute(args);
+        System.exit(exitCode);
+    }
+
+    @Override
+    public void run() {
+        ScheduledExecutorService janitor = Executors.newSingleThreadScheduledExecutor();
+        long maxIdle = TimeUnit.MINUTES.toMillis(idleMinutes);
+        janitor.scheduleAtFixedRate(() -> engine.evict(maxIdle), 1, 1, TimeUnit.MINUTES);
+        ExecutorService connections = newConnectionExecutor();
+        try (ServerSocket server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress())) {
+            System.out.printf("Listening on %s:%d%n", server.getInetAddress().getHostAddress(), server.getLocalPort());
+            while (!server.isClosed()) {
+                Socket socket = server.accept();
+                connections.submit(() -> serve(socket));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            connections.shutdownNow();
+            janitor.shutdownNow();
+        }
+    }
+
+    /**
+     * One thread per connection. Virtual threads are used when the runtime has them (Java 21+),
+     * so that tens of thousands of mostly idle connections cost little more than their sockets;
+     * older runtimes fall back to a cached pool of platform threads.
+     */
+    private static ExecutorService newConnectionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Serve a single connection until the client disconnects
+     */
+    private static void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    out.println(handle(line.trim()));
+                }
+            }
+        } catch (IOException e) {
+            // the client went away; its games are left for the idle eviction
+        }
+    }
+
+    /**
+     * Execute a single request
+     * @param request the request line
+     * @return the JSON response
+     */
+    public static String handle(String request) {
+        String[] parts = request.split("\\s+");
+        try {
+            return switch (parts[0].toUpperCase()) {
+                case "NEW" -> {
+                    int length = Integer.parseInt(argument(parts, 1));
+                    Session session = parts.length > 2 && parts[2].equalsIgnoreCase("ABSURDLE")
+                            ? engine.createAdversarial(length)
+                            : engine.create(length);
+                    yield toJson(session.id, session.status());
+                }
+                case "GUESS" -> toJson(id(parts), engine.guess(id(parts), argument(parts, 2)));
+                case "HINT" -> toJson(id(parts), engine.hint(id(parts)));
+                case "STATUS" -> toJson(id(parts), engine.get(id(parts)).status());
+                case "END" -> {
+                    long id = id(parts);
+                    String word = engine.get(id).word();
+                    Result result = engine.finish(id);
+                    yield toJson(id, new Result(false, "The word was " + word, result.view(), result.eliminated(),
+                            result.guesses(), true, result.correct()));
+                }
+                default -> error("Unknown command: " + parts[0]);
+            };
+        } catch (NoSuchElementException | IllegalArgumentException e) {
+            return error(e.getMessage());
+        }
+    }
+
+    private static long id(String[] parts) {
+        return Long.parseLong(argument(parts, 1));
+    }
+
+    private static String argument(String[] parts, int index) {
+        if (index >= parts.length) {
+            throw new IllegalArgumentException("Missing argument for " + parts[0]);
+        }
+        return parts[index];
+    }
+
+    private static String toJson(long id, Result result) {
+        return String.format(
+                "{\"id\":%d,\"accepted\":%b,\"view\":\"%s\",\"eliminated\":\"%s\",\"guesses\":%d,"
+                        + "\"finished\":%b,\"correct\":%b,\"message\":%s}",
+                id,
+                result.accepted(),
+                result.view(),
+                result.eliminated(),
+                result.guesses(),
+                result.finished(),
+                result.correct(),
+                quote(result.message())
+        );
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String text) {
+        if (text == null) { return "null"; }
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+}
@@ -0,0 +1,217 @@
+package main.dev.wordle.simulator;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.PatternMatrix;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.game.Validator;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+@CommandLine.Command(
+        name = "simulator",
+        mixinStandardHelpOptions = true,
+        version = "1.0",
+        description = """
+                Plays every answer of a given length against a guessing strategy and reports how well the
+                strategy did. The answers come from resources/answers.txt if it has words of that length,
+                otherwise every word is an answer. The games follow the same rules as the interactive game,
+                including the requirement to use everything that has been discovered so far
+                Example: java -jar wordle.jar simulator -l 5 -s entropy
+                """
+)
+public class Simulator implements Runnable {
+
+    public static final int FAILED = -1;
+    public static final int ILLEGAL = -2;
+
+    @CommandLine.Option(
+            names = {"-l", "--length"},
+            description = "Word length"
+    )
+    private static int length = 5;
+
+    @CommandLine.Option(
+            names = {"-s", "--strategy"},
+            description = "Guessing strategy: first, random or entropy"
+    )
+    private static String strategy = "entropy";
+
+    @CommandLine.Option(
+            names = {"-n", "--games"},
+            description = "Only play the first N answers (all of them by default)"
+    )
+    private static int games;
+
+    private static final Vocabulary vocabulary;
+    private static final Config config;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+            config = new Config();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void main(String[] args) {
+        int exitCode = new CommandLine(new Simulator()).execute(args);
+        System.exit(exitCode);
+    }
+
+    @Override
+    public void run() {
+        Bucket bucket = vocabulary.ofLength(length);
+        PatternMatrix matrix;
+        try {
+            matrix = PatternMatrix.load(bucket);
+        } catch (IOException e) {
+            matrix = null;
+        }
+        int[] answers = vocabulary.answers().ids(bucket);
+        int count = games > 0 ? Math.min(games, answers.length) : answers.length;
+        long start = System.currentTimeMillis();
+        int[] outcomes = simulate(bucket, answers, count, Strategy.byName(strategy, matrix), config.GUESSES, matrix);
+        long elapsed = System.currentTimeMillis() - start;
+        System.out.printf("%s strategy, %d-letter words, %d games in %.1fs%n", strategy, length, count, elapsed / 1000.0);
+        System.out.println(new Report(outcomes, config.GUESSES));
+    }
+
+    /**
+     * Play the first words of a bucket in parallel, with every word as a possible answer.
+     * @see #simulate(Bucket, int[], int, Strategy, int, PatternMatrix)
+     */
+    public static int[] simulate(Bucket bucket, int count, Strategy strategy, int guesses, PatternMatrix matrix) {
+        return simulate(bucket, IntStream.range(0, bucket.size).toArray(), count, strategy, guesses, matrix);
+    }
+
+    /**
+     * Play the first answers of a bucket in parallel, without any console output.
+     * @param bucket the words of the simulated length, all of which are allowed guesses
+     * @param answers the ids of the words that can be the answer, in increasing order
+     * @param count the number of answers to play
+     * @param strategy the guessing strategy
+     * @param guesses the number of guesses allowed per game
+     * @param matrix the precomputed patterns of the bucket, or null to compute them
+     * @return the outcome of each game: the number of guesses it took, FAILED or ILLEGAL
+     */
+    public static int[] simulate(Bucket bucket, int[] answers, int count, Strategy strategy, int guesses, PatternMatrix matrix) {
+        return IntStream.range(0, count)
+                .parallel()
+                .map(i -> play(bucket, answers, answers[i], strategy, guesses, matrix))
+                .toArray();
+    }
+
+    /**
+     * Play a single game with every word as a possible answer.
+     * @see #play(Bucket, int[], int, Strategy, int, PatternMatrix)
+     */
+    public static int play(Bucket bucket, int answer, Strategy strategy, int guesses, PatternMatrix matrix) {
+        return play(bucket, IntStream.range(0, bucket.size).toArray(), answer, strategy, guesses, matrix);
+    }
+
+    /**
+     * Play a single game. Every guess is checked against the hard-mode rules of the game validator,
+     * and the candidates, which start as the possible answers, are narrowed down to the words that would have
+     * produced the same feedback.
+     * @param answers the ids of the words that can be the answer; the array is not modified
+     * @param answer the id of the answer of this game
+     * @return the number of guesses it took, FAILED if the guesses ran out or ILLEGAL if the strategy broke a rule
+     */
+    public static int play(Bucket bucket, int[] answers, int answer, Strategy strategy, int guesses, PatternMatrix matrix) {
+        long[] codes = bucket.codes();
+        int[] masks = bucket.masks();
+        Validator validator = new Validator(bucket.get(answer).toUpperCase());
+        int[] candidates = answers.clone();
+        int count = candidates.length;
+        for (int turn = 0; turn < guesses; turn++) {
+            int guess = strategy.guess(bucket, candidates, count, turn);
+            String word = bucket.get(guess).toUpperCase();
+            if (validator.check(word) != null) {
+                return ILLEGAL;
+            }
+            int pattern = matrix != null
+                    ? matrix.get(guess, answer)
+                    : Feedback.score(codes[guess], codes[answer], masks[answer], bucket.length);
+            if (pattern == Feedback.solved(bucket.length)) {
+                return turn + 1;
+            }
+            validator.constraints().record(word, pattern);
+            int remaining = 0;
+            for (int i = 0; i < count; i++) {
+                int candidate = candidates[i];
+                int candidatePattern = matrix != null
+                        ? matrix.get(guess, candidate)
+                        : Feedback.score(codes[guess], codes[candidate], masks[candidate], bucket.length);
+                if (candidatePattern == pattern) {
+                    candidates[remaining++] = candidate;
+                }
+            }
+            count = remaining;
+        }
+        return FAILED;
+    }
+
+    /**
+     * Summary statistics of a simulation
+     */
+    public static class Report {
+
+        public final int games;
+        public final int wins;
+        public final int illegal;
+        public final int[] distribution;
+
+        public Report(int[] outcomes, int guesses) {
+            distribution = new int[guesses + 1];
+            int wins = 0;
+            int illegal = 0;
+            for (int outcome : outcomes) {
+                if (outcome > 0) {
+                    distribution[outcome]++;
+                    wins++;
+                } else if (outcome == ILLEGAL) {
+                    illegal++;
+                }
+            }
+            this.games = outcomes.length;
+            this.wins = wins;
+            this.illegal = illegal;
+        }
+
+        /**
+         * @return the average number of guesses of the games that were won
+         */
+        public double getAverageGuesses() {
+            int total = 0;
+            for (int i = 1; i < distribution.length; i++) {
+                total += i * distribution[i];
+            }
+            return 1.0 * total / wins;
+        }
+
+        /**
+         * @return the percentage of games that were lost, including those lost to an illegal guess
+         */
+        public double getFailureRate() {
+            return 100.0 * (games - wins) / games;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("average guesses: %.3f%n", getAverageGuesses()));
+            builder.append(String.format("failure rate: %.2f%% (%d illegal guesses)%n", getFailureRate(), illegal));
+            for (int i = 1; i < distribution.length; i++) {
+                builder.append(String.format("%d: %d%n", i, distribution[i]));
+            }
+            builder.append(String.format("X: %d%n", games - wins));
+            return builder.toString();
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package main.dev.wordle.simulator;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.PatternMatrix;
+import main.dev.wordle.solver.Entropy;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A guessing strategy for the simulator.
+ * Strategies are shared by all the games of a simulation, so they must be safe to call from several threads.
+ */
+public interface Strategy {
+
+    /**
+     * Choose the next guess.
+     * @param bucket all the words of the game's length
+     * @param candidates the ids of the possible answers that are still consistent with the feedback; only the first
+     *                   count are valid, and on the first turn they are every possible answer
+     * @param count the number of remaining candidates
+     * @param turn the number of guesses made so far
+     * @return the word id of the guess
+     */
+    int guess(Bucket bucket, int[] candidates, int count, int turn);
+
+    /**
+     * @param name one of "first", "random" or "entropy"
+     * @param matrix the precomputed patterns for strategies that score guesses, or null
+     * @return the strategy with the given name
+     */
+    static Strategy byName(String name, PatternMatrix matrix) {
+        return switch (name) {
+            case "first" -> new First();
+            case "random" -> new Random();
+            case "entropy" -> new MaxEntropy(matrix);
+            default -> throw new IllegalArgumentException("Unknown strategy: " + name);
+        };
+    }
+
+    /**
+     * Always guess the alphabetically first candidate
+     */
+    class First implements Strategy {
+        @Override
+        public int guess(Bucket bucket, int[] candidates, int count, int turn) {
+            return candidates[0];
+        }
+    }
+
+    /**
+     * Guess a random candidate
+     */
+    class Random implements Strategy {
+        @Override
+        public int guess(Bucket bucket, int[] candidates, int count, int turn) {
+            return candidates[ThreadLocalRandom.current().nextInt(count)];
+        }
+    }
+
+    /**
+     * Guess the candidate with the highest expected information over the other candidates.
+     * Only candidates are considered, so the guesses always satisfy the hard-mode rules.
+     * The opening guess is the same in every game, so it is only computed once.
+     */
+    class MaxEntropy implements Strategy {
+
+        private final PatternMatrix matrix;
+        private volatile int opening = -1;
+
+        public MaxEntropy(PatternMatrix matrix) {
+            this.matrix = matrix;
+        }
+
+        @Override
+        public int guess(Bucket bucket, int[] candidates, int count, int turn) {
+            if (turn > 0) {
+                return best(bucket, Arrays.copyOf(candidates, count));
+            }
+            if (opening < 0) {
+                synchronized (this) {
+                    if (opening < 0) { opening = best(bucket, Arrays.copyOf(candidates, count)); }
+                }
+            }
+            return opening;
+        }
+
+        private int best(Bucket bucket, int[] candidates) {
+            if (candidates.length <= 2) { return candidates[0]; }
+            Entropy entropy = new Entropy(bucket, candidates, matrix);
+            int[] histogram = new int[Feedback.patterns(bucket.length)];
+            int best = candidates[0];
+            double bestScore = -1;
+            for (int candidate : candidates) {
+                double score = entropy.score(candidate, histogram);
+                if (score > bestScore) {
+                    best = candidate;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+    }
+
+}
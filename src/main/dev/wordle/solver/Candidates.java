@@ -0,0 +1,108 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.WordIndex;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.stream.IntStream;
+
+/**
+ * The words that are still possible in a game being solved, narrowed down guess by guess.
+ *
+ * Every guess only tests the words that survived the previous ones, so a step costs time proportional
+ * to the remaining candidates. The sets of previous steps are kept on a stack so that a guess can be undone.
+ */
+public class Candidates {
+
+    public final Bucket bucket;
+    private final Deque<int[]> history = new ArrayDeque<int[]>();
+    private int[] ids;
+
+    /**
+     * Start with every word of the bucket
+     */
+    public Candidates(Bucket bucket) {
+        this(bucket, IntStream.range(0, bucket.size).toArray());
+    }
+
+    /**
+     * Start with some of the words of the bucket, such as the words that can be the answer
+     * @param ids the ids of the words in increasing order
+     */
+    public Candidates(Bucket bucket, int[] ids) {
+        this.bucket = bucket;
+        this.ids = ids;
+    }
+
+    /**
+     * Parse the colours of a guess: g for green, y for yellow and anything else for grey
+     * @param feedback one colour per letter
+     * @return the feedback pattern
+     */
+    public static int parse(String feedback) {
+        int pattern = 0;
+        for (int i = 0; i < feedback.length(); i++) {
+            int digit = switch (Character.toLowerCase(feedback.charAt(i))) {
+                case 'g' -> Feedback.CORRECT;
+                case 'y' -> Feedback.PARTIAL;
+                default -> Feedback.ABSENT;
+            };
+            pattern = 3 * pattern + digit;
+        }
+        return pattern;
+    }
+
+    /**
+     * Keep the candidates that would have produced the feedback for the guess
+     * @param guess the guessed word
+     * @param pattern the feedback pattern of the guess
+     * @return the number of remaining candidates
+     */
+    public int apply(String guess, int pattern) {
+        long code = WordIndex.encode(guess);
+        int[] masks = bucket.masks();
+        long[] codes = bucket.codes();
+        int[] kept = new int[ids.length];
+        int count = 0;
+        for (int id : ids) {
+            if (Feedback.score(code, codes[id], masks[id], bucket.length) == pattern) {
+                kept[count++] = id;
+            }
+        }
+        history.push(ids);
+        ids = Arrays.copyOf(kept, count);
+        return count;
+    }
+
+    /**
+     * Go back to the candidates before the last guess
+     * @return false if there was nothing to undo
+     */
+    public boolean undo() {
+        if (history.isEmpty()) { return false; }
+        ids = history.pop();
+        return true;
+    }
+
+    /**
+     * @return the number of guesses applied
+     */
+    public int steps() {
+        return history.size();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * @return the ids of the remaining candidates in alphabetical order; the array must not be modified
+     */
+    public int[] ids() {
+        return ids;
+    }
+
+}
@@ -0,0 +1,254 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Vocabulary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A solver that stays up between queries, listening on a Unix domain socket.
+ *
+ * Starting a JVM, loading the vocabulary and building its indexes costs far more than solving a query,
+ * so the daemon pays for all of it once and then answers every query from warm data structures.
+ * Each connection carries a single query, "word TAB eliminated TAB suggestions" on one line, and the
+ * response is exactly what the solver would have printed, after which the daemon closes the connection.
+ * Neither side waits for the other forever: a client that gets no response in time solves the query itself,
+ * and the daemon drops connections that send no request.
+ */
+public class Daemon implements Closeable {
+
+    private static final int WARM_UP_QUERIES = 1000;
+
+    /**
+     * How long a client waits for a response before solving the query itself, in milliseconds
+     */
+    public static long responseTimeout = 30_000;
+
+    /**
+     * How long the daemon waits for the request of a connection before dropping it, in milliseconds
+     */
+    public static long requestTimeout = 5_000;
+
+    private final Path socket;
+    private final ServerSocketChannel server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+
+    private Daemon(Path socket, ServerSocketChannel server) {
+        this.socket = socket;
+        this.server = server;
+    }
+
+    /**
+     * @return the socket the daemon listens on unless told otherwise: solver.sock next to the game history
+     */
+    public static Path defaultSocket() {
+        return Paths.get(System.getProperty("user.home"), ".cache", "wordle", "solver.sock");
+    }
+
+    /**
+     * Start listening on a socket. A socket file left behind by a daemon that is gone is replaced.
+     * @param socket the path of the socket
+     * @return the daemon, which does not accept queries until {@link #serve()} is called
+     * @throws IOException if another daemon is already listening on the socket, or it cannot be created
+     */
+    public static Daemon bind(Path socket) throws IOException {
+        if (Files.exists(socket)) {
+            if (listening(socket)) {
+                throw new IOException("A solver daemon is already listening on " + socket);
+            }
+            Files.delete(socket);
+        }
+        Files.createDirectories(socket.toAbsolutePath().getParent());
+        ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        try {
+            server.bind(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            server.close();
+            throw e;
+        }
+        return new Daemon(socket, server);
+    }
+
+    /**
+     * Load every bucket with its indexes and run enough queries of every length for the JIT to compile the
+     * hot paths, so that the first real query is as fast as the following ones
+     * @return the number of queries run
+     */
+    public static int warmUp() throws IOException {
+        Vocabulary vocabulary = Vocabulary.getInstance();
+        Config config = new Config();
+        int queries = 0;
+        for (int length = config.MIN_WORD_LENGTH; length <= config.MAX_WORD_LENGTH; length++) {
+            Bucket bucket = vocabulary.ofLength(length);
+            if (bucket.size == 0) { continue; }
+            bucket.dawg();
+            bucket.letterIndex();
+            for (int i = 0; i < WARM_UP_QUERIES; i++) {
+                String word = bucket.get((int) ((long) i * bucket.size / WARM_UP_QUERIES));
+                String query = Character.toUpperCase(word.charAt(0)) + "*" + word.charAt(1) + "*".repeat(length - 3);
+                Solver.answer(query, "", 0);
+                Solver.answer("*".repeat(length - 1) + word.charAt(length - 1), "", 0);
+                queries += 2;
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Answer queries until the daemon is closed
+     */
+    public void serve() throws IOException {
+        try {
+            while (server.isOpen()) {
+                SocketChannel channel = server.accept();
+                workers.submit(() -> handle(channel));
+            }
+        } catch (ClosedChannelException e) {
+            // closed from another thread, possibly before accept was reached
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Stop listening and remove the socket file; closing again has no effect
+     */
+    @Override
+    public void close() throws IOException {
+        server.close();
+        workers.shutdownNow();
+        Files.deleteIfExists(socket);
+    }
+
+    /**
+     * Answer a single query. An empty request is only a check that the daemon is up, and a connection that sends
+     * no request in time is dropped so that it does not hold on to a worker.
+     */
+    private static void handle(SocketChannel channel) {
+        try (channel) {
+            byte[] bytes = read(channel, requestTimeout, true);
+            if (bytes == null) { return; }
+            String request = new String(bytes, StandardCharsets.UTF_8).lines().findFirst().orElse("");
+            if (request.isEmpty()) { return; }
+            String[] parts = request.split("\t", -1);
+            String response;
+            try {
+                int suggest = parts.length > 2 ? Integer.parseInt(parts[2]) : 0;
+                response = Solver.answer(parts[0], parts.length > 1 ? parts[1] : "", suggest);
+            } catch (RuntimeException e) {
+                response = "Error: " + e.getMessage() + "\n";
+            }
+            channel.configureBlocking(true);
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(response);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // the client went away
+        }
+    }
+
+    /**
+     * @return a request for the daemon
+     */
+    public static String request(String word, String eliminated, int suggest) {
+        return String.join("\t", word, eliminated == null ? "" : eliminated, Integer.toString(suggest));
+    }
+
+    /**
+     * Send a request to the daemon listening on a socket, waiting at most responseTimeout for the response
+     * @param socket the path of the socket
+     * @param request the request, or null to only check that the daemon is up
+     * @return the response, or null if no daemon is listening on the socket or it did not respond in time
+     */
+    public static String forward(Path socket, String request) {
+        return forward(socket, request, responseTimeout);
+    }
+
+    /**
+     * @param timeout how long to wait for the response, in milliseconds
+     * @see #forward(Path, String)
+     */
+    public static String forward(Path socket, String request, long timeout) {
+        if (!Files.exists(socket)) { return null; }
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(request == null ? "\n" : request + "\n");
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.shutdownOutput();
+            byte[] response = read(channel, timeout, false);
+            return response == null ? null : new String(response, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return whether something accepts connections on the socket, even if it is too busy to answer them yet
+     */
+    private static boolean listening(Path socket) {
+        try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            return channel.isConnected();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Read from a channel until the other side stops writing, or until the first line if asked. The channel is
+     * left in non-blocking mode.
+     * @param timeout how long to wait for it all, in milliseconds
+     * @param line whether to stop at the end of the first line
+     * @return the bytes read, or null if the time ran out first
+     */
+    private static byte[] read(SocketChannel channel, long timeout, boolean line) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        channel.configureBlocking(false);
+        try (Selector selector = Selector.open()) {
+            channel.register(selector, SelectionKey.OP_READ);
+            while (true) {
+                int read;
+                while ((read = channel.read(buffer)) > 0) {
+                    out.write(buffer.array(), 0, buffer.position());
+                    boolean newline = line && indexOf(buffer, (byte) '\n') >= 0;
+                    buffer.clear();
+                    if (newline) { return out.toByteArray(); }
+                }
+                if (read < 0) { return out.toByteArray(); }
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) { return null; }
+                selector.select(remaining);
+                selector.selectedKeys().clear();
+            }
+        }
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value) {
+        for (int i = 0; i < buffer.position(); i++) {
+            if (buffer.get(i) == value) { return i; }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,159 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.PatternMatrix;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks guesses by the information they are expected to reveal about the remaining candidates.
+ *
+ * A guess splits the candidates into groups that would produce the same feedback pattern; the expected
+ * information is the entropy of that split, in bits. Every guess has to be scored against every candidate,
+ * so the guesses are split into chunks that are scored in parallel on a fork-join pool. Patterns are read from
+ * the precomputed {@link PatternMatrix} when one is available and computed on the fly otherwise.
+ */
+public class Entropy {
+
+    private static final int CHUNK = 64;
+
+    private final Bucket bucket;
+    private final int[] candidates;
+    private final long[] candidateCodes;
+    private final int[] candidateMasks;
+    private final PatternMatrix matrix;
+
+    /**
+     * @param bucket all the allowed guesses
+     * @param candidates the ids of the words that can still be the answer
+     */
+    public Entropy(Bucket bucket, int[] candidates) {
+        this(bucket, candidates, null);
+    }
+
+    /**
+     * @param bucket all the allowed guesses
+     * @param candidates the ids of the words that can still be the answer
+     * @param matrix the precomputed patterns of the bucket, or null to compute them
+     */
+    public Entropy(Bucket bucket, int[] candidates, PatternMatrix matrix) {
+        this.bucket = bucket;
+        this.candidates = candidates;
+        this.matrix = matrix;
+        this.candidateCodes = new long[candidates.length];
+        this.candidateMasks = new int[candidates.length];
+        long[] codes = bucket.codes();
+        int[] masks = bucket.masks();
+        for (int i = 0; i < candidates.length; i++) {
+            candidateCodes[i] = codes[candidates[i]];
+            candidateMasks[i] = masks[candidates[i]];
+        }
+    }
+
+    /**
+     * Score every word of the bucket as a guess.
+     * @param pool the pool to score on
+     * @return the expected information of each guess in bits, indexed by word id
+     */
+    public double[] score(ForkJoinPool pool) {
+        double[] scores = new double[bucket.size];
+        pool.invoke(new Task(scores, 0, bucket.size));
+        return scores;
+    }
+
+    /**
+     * Find the best guesses. Ties are broken in favour of words that can still be the answer.
+     * @param count the number of guesses to return
+     * @param pool the pool to score on
+     * @return the ids of the best guesses, best first
+     */
+    public int[] best(int count, ForkJoinPool pool) {
+        if (candidates.length <= 2 || count <= 0) {
+            return Arrays.copyOf(candidates, Math.max(0, Math.min(count, candidates.length)));
+        }
+        double[] scores = score(pool);
+        boolean[] candidate = new boolean[bucket.size];
+        for (int id : candidates) {
+            candidate[id] = true;
+        }
+        int[] top = new int[Math.min(count, bucket.size)];
+        int size = 0;
+        for (int id = 0; id < bucket.size; id++) {
+            if (size == top.length && !better(id, top[size - 1], scores, candidate)) { continue; }
+            int position = size == top.length ? size - 1 : size++;
+            while (position > 0 && better(id, top[position - 1], scores, candidate)) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = id;
+        }
+        return top;
+    }
+
+    /**
+     * The expected information of a single guess.
+     * @param guess the word id of the guess
+     * @param histogram scratch space with one counter per pattern, all zero; it is left zeroed
+     * @return the entropy of the feedback patterns over the candidates, in bits
+     */
+    public double score(int guess, int[] histogram) {
+        if (matrix != null) {
+            for (int candidate : candidates) {
+                histogram[matrix.get(guess, candidate)]++;
+            }
+        } else {
+            long code = bucket.codes()[guess];
+            int length = bucket.length;
+            for (int i = 0; i < candidateCodes.length; i++) {
+                histogram[Feedback.score(code, candidateCodes[i], candidateMasks[i], length)]++;
+            }
+        }
+        double sum = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            int count = histogram[i];
+            if (count > 1) {
+                sum += count * Math.log(count);
+            }
+            histogram[i] = 0;
+        }
+        double total = candidateCodes.length;
+        return (Math.log(total) - sum / total) / Math.log(2);
+    }
+
+    private static boolean better(int id, int other, double[] scores, boolean[] candidate) {
+        if (scores[id] != scores[other]) { return scores[id] > scores[other]; }
+        return candidate[id] && !candidate[other];
+    }
+
+    private class Task extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] scores;
+        private final int from;
+        private final int to;
+
+        Task(double[] scores, int from, int to) {
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(scores, from, middle), new Task(scores, middle, to));
+                return;
+            }
+            int[] histogram = new int[Feedback.patterns(bucket.length)];
+            for (int id = from; id < to; id++) {
+                scores[id] = score(id, histogram);
+            }
+        }
+    }
+
+}
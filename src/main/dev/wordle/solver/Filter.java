@@ -0,0 +1,165 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+
+/**
+ * The solver constraints compiled into bit masks.
+ *
+ * A query is compiled once, after which every candidate is tested against the precomputed
+ * letter mask and packed letters of its bucket with a handful of AND/compare operations:
+ * <ul>
+ *     <li>eliminated letters must not appear in the word</li>
+ *     <li>discovered (uppercase) letters must appear at their positions</li>
+ *     <li>partially discovered (lowercase) letters must appear in the word, but neither at the
+ *     position where they were observed nor at any of the discovered positions</li>
+ * </ul>
+ */
+public class Filter {
+
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final int length;
+    private final int eliminated;
+    private final int required;
+    private final long fixedBits;
+    private final long fixedCode;
+    private final int[] forbidden;
+    private final int[] forbiddenPositions;
+    private final int[] allowed;
+
+    /**
+     * Compile a query.
+     * @param word the discovered letters; caps=green, lower=yellow, asterisk=undiscovered
+     * @param eliminated the eliminated letters
+     */
+    public Filter(String word, String eliminated) {
+        length = word.length();
+        this.eliminated = toMask(eliminated);
+        int[] forbidden = new int[length];
+        int required = 0;
+        long fixedBits = 0;
+        long fixedCode = 0;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            int shift = shift(i);
+            if (Character.isUpperCase(c)) {
+                fixedBits |= 31L << shift;
+                fixedCode |= (long) (c - 'A') << shift;
+            } else if (Character.isLowerCase(c)) {
+                required |= 1 << (c - 'a');
+                forbidden[i] |= 1 << (c - 'a');
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.isUpperCase(word.charAt(i))) {
+                forbidden[i] |= required;
+            }
+        }
+        int count = 0;
+        for (int mask : forbidden) {
+            if (mask != 0) { count++; }
+        }
+        forbiddenPositions = new int[count];
+        for (int i = 0, j = 0; i < length; i++) {
+            if (forbidden[i] != 0) { forbiddenPositions[j++] = i; }
+        }
+        allowed = new int[length];
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            int letters = Character.isUpperCase(c) ? 1 << (c - 'A') : ALL_LETTERS;
+            allowed[i] = letters & ~this.eliminated & ~forbidden[i];
+        }
+        this.forbidden = forbidden;
+        this.required = required;
+        this.fixedBits = fixedBits;
+        this.fixedCode = fixedCode;
+    }
+
+    /**
+     * @param letters any letters, in any case
+     * @return the set of the letters as a 26-bit mask
+     */
+    public static int toMask(CharSequence letters) {
+        int mask = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            mask |= 1 << ((letters.charAt(i) | 0x20) - 'a');
+        }
+        return mask;
+    }
+
+    /**
+     * @return the length of the words this filter applies to
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * The constraints as the letters allowed at each position, for walking a {@link main.dev.wordle.common.Dawg}.
+     * Required letters are not part of it, see {@link #required()}.
+     * @return a 26-bit mask of the allowed letters for every position
+     */
+    public int[] allowed() {
+        return allowed.clone();
+    }
+
+    /**
+     * @return the letters that must appear somewhere in the word as a 26-bit mask
+     */
+    public int required() {
+        return required;
+    }
+
+    /**
+     * Test a candidate against all the constraints.
+     * @param mask the letter mask of the candidate
+     * @param code the packed letters of the candidate
+     * @return whether the candidate is consistent with the query
+     */
+    public boolean test(int mask, long code) {
+        return excludesEliminated(mask) && matchesDiscovered(code) && matchesPartiallyDiscovered(mask, code);
+    }
+
+    /**
+     * Test a word of a bucket against all the constraints.
+     */
+    public boolean test(Bucket bucket, int id) {
+        return test(bucket.masks()[id], bucket.codes()[id]);
+    }
+
+    /**
+     * Check that the word does not contain any of the eliminated letters
+     */
+    public boolean excludesEliminated(int mask) {
+        return (mask & eliminated) == 0;
+    }
+
+    /**
+     * Check that the word contains the discovered letters at their positions
+     */
+    public boolean matchesDiscovered(long code) {
+        return (code & fixedBits) == fixedCode;
+    }
+
+    /**
+     * Check that the word contains the partially discovered letters, but only in the positions they can still be in
+     */
+    public boolean matchesPartiallyDiscovered(int mask, long code) {
+        if ((mask & required) != required) { return false; }
+        for (int position : forbiddenPositions) {
+            if ((forbidden[position] >>> letterAt(code, position) & 1) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int shift(int position) {
+        return 5 * (length - 1 - position);
+    }
+
+    private int letterAt(long code, int position) {
+        return (int) (code >>> shift(position)) & 31;
+    }
+
+}
@@ -0,0 +1,155 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.PatternMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks guesses by the information they are expected to reveal about several boards at once.
+ *
+ * The boards are independent, so the information of a guess is the sum of its {@link Entropy} over the boards
+ * that are still unsolved. Boards with the same candidates (every board, before the first guess) are scored
+ * once and counted as many times as they occur. Every guess is scored against all the boards in a row, so its
+ * patterns are read while they are still in cache, and the guesses are split into chunks scored in parallel.
+ */
+public class MultiEntropy {
+
+    private static final int CHUNK = 64;
+
+    private final Bucket bucket;
+    private final Entropy[] boards;
+    private final int[] weights;
+    private final boolean[] candidate;
+    private final int[] forced;
+
+    /**
+     * @param bucket all the allowed guesses
+     * @param candidates the ids of the words that can still be the answer, for every unsolved board
+     * @param matrix the precomputed patterns of the bucket, or null to compute them
+     */
+    public MultiEntropy(Bucket bucket, List<int[]> candidates, PatternMatrix matrix) {
+        this.bucket = bucket;
+        List<int[]> distinct = new ArrayList<int[]>();
+        List<Integer> counts = new ArrayList<Integer>();
+        List<Integer> forced = new ArrayList<Integer>();
+        candidate = new boolean[bucket.size];
+        for (int[] ids : candidates) {
+            if (ids.length == 0) { continue; }
+            if (ids.length == 1 && !forced.contains(ids[0])) { forced.add(ids[0]); }
+            for (int id : ids) { candidate[id] = true; }
+            int index = indexOf(distinct, ids);
+            if (index < 0) {
+                distinct.add(ids);
+                counts.add(1);
+            } else {
+                counts.set(index, counts.get(index) + 1);
+            }
+        }
+        this.boards = new Entropy[distinct.size()];
+        this.weights = new int[distinct.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Entropy(bucket, distinct.get(i), matrix);
+            weights[i] = counts.get(i);
+        }
+        this.forced = forced.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @return the number of different candidate sets that are scored
+     */
+    public int distinct() {
+        return boards.length;
+    }
+
+    /**
+     * The combined information of a guess over every board
+     * @param histogram scratch space with one counter per pattern, all zero; it is left zeroed
+     */
+    public double score(int guess, int[] histogram) {
+        double sum = 0;
+        for (int i = 0; i < boards.length; i++) {
+            sum += weights[i] * boards[i].score(guess, histogram);
+        }
+        return sum;
+    }
+
+    /**
+     * Find the best guesses. A board with a single candidate left is solved by guessing it, so those candidates come
+     * first; the other guesses are ranked by combined information, ties broken in favour of candidates of any board.
+     * @param count the number of guesses to return
+     * @param pool the pool to score on
+     * @return the ids of the best guesses, best first
+     */
+    public int[] best(int count, ForkJoinPool pool) {
+        int[] top = new int[Math.min(count, bucket.size)];
+        int size = 0;
+        for (int id : forced) {
+            if (size < top.length) { top[size++] = id; }
+        }
+        if (size == top.length) { return top; }
+        double[] scores = new double[bucket.size];
+        pool.invoke(new Task(scores, 0, bucket.size));
+        for (int id : forced) {
+            scores[id] = Double.NEGATIVE_INFINITY;
+        }
+        int first = size;
+        for (int id = 0; id < bucket.size; id++) {
+            if (scores[id] == Double.NEGATIVE_INFINITY) { continue; }
+            if (size == top.length && !better(id, top[size - 1], scores)) { continue; }
+            int position = size == top.length ? size - 1 : size++;
+            while (position > first && better(id, top[position - 1], scores)) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = id;
+        }
+        return Arrays.copyOf(top, size);
+    }
+
+    private boolean better(int id, int other, double[] scores) {
+        if (scores[id] != scores[other]) { return scores[id] > scores[other]; }
+        return candidate[id] && !candidate[other];
+    }
+
+    private static int indexOf(List<int[]> sets, int[] ids) {
+        for (int i = 0; i < sets.size(); i++) {
+            if (Arrays.equals(sets.get(i), ids)) { return i; }
+        }
+        return -1;
+    }
+
+    private class Task extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] scores;
+        private final int from;
+        private final int to;
+
+        Task(double[] scores, int from, int to) {
+            this.scores = scores;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Task(scores, from, middle), new Task(scores, middle, to));
+                return;
+            }
+            int[] histogram = new int[Feedback.patterns(bucket.length)];
+            for (int id = from; id < to; id++) {
+                scores[id] = score(id, histogram);
+            }
+        }
+    }
+
+}
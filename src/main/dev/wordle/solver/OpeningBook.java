@@ -0,0 +1,239 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.Partition;
+import main.dev.wordle.common.PatternMatrix;
+import main.dev.wordle.common.Vocabulary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * The best first guesses of a word length and, for every feedback the best of them can receive, the best second
+ * guesses, precomputed offline.
+ *
+ * The first two turns are the most expensive to solve, since every answer is still a candidate, and they are the
+ * same in every game. The book holds the guesses {@link Entropy#best} returns for them, so a lookup gives exactly
+ * what scoring would. Only the patterns that some answer produces are stored, in increasing order. Like a
+ * {@link PatternMatrix}, the file records a checksum of the words and answers it was built from and is ignored
+ * once they change.
+ * <pre>
+ *   int magic, int version, int length, int size, int answers, int depth, long checksum
+ *   int count, count first guesses
+ *   int patterns, then for each pattern: int pattern, int count, count second guesses
+ * </pre>
+ */
+public class OpeningBook {
+
+    public static final String directory = "resources/openings";
+    public static final int DEPTH = 10;
+    private static final int MAGIC = 0x574F504E; // "WOPN"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+
+    private final int[] first;
+    private final int[] patterns;
+    private final int[][] second;
+
+    private OpeningBook(int[] first, int[] patterns, int[][] second) {
+        this.first = first;
+        this.patterns = patterns;
+        this.second = second;
+    }
+
+    /**
+     * Build step: computes the books of the given lengths (all the playable lengths by default).
+     * Lengths whose words and answers have not changed since their book was built are skipped.
+     * Usage: OpeningBook [length...]
+     */
+    public static void main(String[] args) throws IOException {
+        Config config = new Config();
+        int[] lengths = args.length > 0
+                ? Arrays.stream(args).mapToInt(Integer::parseInt).toArray()
+                : IntStream.rangeClosed(config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH).toArray();
+        Vocabulary vocabulary = Vocabulary.getInstance();
+        for (int length : lengths) {
+            Bucket bucket = vocabulary.ofLength(length);
+            int[] answers = vocabulary.answers().ids(bucket);
+            if (load(bucket, answers) != null) {
+                System.out.printf("Length %d is up to date%n", length);
+                continue;
+            }
+            long start = System.currentTimeMillis();
+            build(bucket, answers, PatternMatrix.load(bucket), ForkJoinPool.commonPool(), path(length));
+            System.out.printf("Length %d: %d answers in %d ms%n", length, answers.length, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Read the book of a bucket if it has been built.
+     * @param bucket the words of the length
+     * @param answers the ids of the words that can be the answer
+     * @return the book, or null if it is missing, truncated or corrupt, or was built from different words
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static OpeningBook load(Bucket bucket, int[] answers) throws IOException {
+        return load(bucket, answers, path(bucket.length));
+    }
+
+    /**
+     * @param path the file to read
+     * @see #load(Bucket, int[])
+     */
+    public static OpeningBook load(Bucket bucket, int[] answers, Path path) throws IOException {
+        if (!Files.exists(path)) { return null; }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        if (buffer.remaining() < HEADER_SIZE) { return null; }
+        boolean valid = buffer.getInt() == MAGIC
+                && buffer.getInt() == VERSION
+                && buffer.getInt() == bucket.length
+                && buffer.getInt() == bucket.size
+                && buffer.getInt() == answers.length
+                && buffer.getInt() == DEPTH
+                && buffer.getLong() == checksum(bucket, answers);
+        if (!valid) { return null; }
+        int[] first = read(buffer, bucket.size);
+        if (first == null || buffer.remaining() < 4) { return null; }
+        int count = buffer.getInt();
+        if (count < 0 || count > Feedback.patterns(bucket.length) || count > buffer.remaining() / 8) { return null; }
+        int[] patterns = new int[count];
+        int[][] second = new int[count][];
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < 4) { return null; }
+            patterns[i] = buffer.getInt();
+            second[i] = read(buffer, bucket.size);
+            if (second[i] == null || (i > 0 && patterns[i] <= patterns[i - 1])) { return null; }
+        }
+        return buffer.hasRemaining() ? null : new OpeningBook(first, patterns, second);
+    }
+
+    /**
+     * Score the openings of a bucket and write them to disk.
+     * The second guesses of every pattern are scored over the answers that produce it, so the whole build scores
+     * every word against every answer twice. The file is written next to the target and then moved into place.
+     * @param bucket the words of the length, which are all allowed as guesses
+     * @param answers the ids of the words that can be the answer
+     * @param matrix the precomputed patterns of the bucket, or null to compute them
+     * @param pool the pool to score on
+     * @param target the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void build(Bucket bucket, int[] answers, PatternMatrix matrix, ForkJoinPool pool, Path target) throws IOException {
+        int[] first = new Entropy(bucket, answers, matrix).best(DEPTH, pool);
+        Partition partition = new Partition(bucket.length);
+        int patterns = 0;
+        if (first.length > 0) {
+            partition.split(bucket, bucket.codes()[first[0]], answers, answers.length);
+            for (int pattern = 0; pattern < Feedback.patterns(bucket.length); pattern++) {
+                if (partition.size(pattern) > 0) { patterns++; }
+            }
+        }
+        int[][] second = new int[Feedback.patterns(bucket.length)][];
+        int size = HEADER_SIZE + 4 * (first.length + 2);
+        for (int pattern = 0; patterns > 0 && pattern < second.length; pattern++) {
+            if (partition.size(pattern) == 0) { continue; }
+            int start = partition.start(pattern);
+            int[] group = Arrays.copyOfRange(partition.ids(), start, start + partition.size(pattern));
+            second[pattern] = new Entropy(bucket, group, matrix).best(DEPTH, pool);
+            size += 4 * (second[pattern].length + 2);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(bucket.length).putInt(bucket.size).putInt(answers.length)
+                .putInt(DEPTH).putLong(checksum(bucket, answers));
+        write(buffer, first);
+        buffer.putInt(patterns);
+        for (int pattern = 0; pattern < second.length; pattern++) {
+            if (second[pattern] == null) { continue; }
+            buffer.putInt(pattern);
+            write(buffer, second[pattern]);
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param count the number of guesses wanted
+     * @return the best first guesses, best first, or null if the book does not hold that many
+     */
+    public int[] first(int count) {
+        return count > DEPTH ? null : Arrays.copyOf(first, Math.min(count, first.length));
+    }
+
+    /**
+     * @return the id of the best first guess, which the second guesses follow, or -1 if there are no answers
+     */
+    public int opening() {
+        return first.length > 0 ? first[0] : -1;
+    }
+
+    /**
+     * @param pattern the feedback the best first guess received
+     * @param count the number of guesses wanted
+     * @return the best second guesses, best first and none if no answer produces the pattern, or null if the book
+     * does not hold that many
+     */
+    public int[] second(int pattern, int count) {
+        if (count > DEPTH) { return null; }
+        int index = Arrays.binarySearch(patterns, pattern);
+        return index < 0 ? new int[0] : Arrays.copyOf(second[index], Math.min(count, second[index].length));
+    }
+
+    /**
+     * @return the location of the book for a word length
+     */
+    public static Path path(int length) {
+        return Paths.get(directory, length + ".bin");
+    }
+
+    /**
+     * @param size the number of words, which every id must be below
+     * @return the ids, or null if the buffer does not hold them all or holds invalid ones
+     */
+    private static int[] read(ByteBuffer buffer, int size) {
+        if (buffer.remaining() < 4) { return null; }
+        int count = buffer.getInt();
+        if (count < 0 || count > DEPTH || count > buffer.remaining() / 4) { return null; }
+        int[] ids = new int[count];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = buffer.getInt();
+            if (ids[i] < 0 || ids[i] >= size) { return null; }
+        }
+        return ids;
+    }
+
+    private static void write(ByteBuffer buffer, int[] ids) {
+        buffer.putInt(ids.length);
+        for (int id : ids) {
+            buffer.putInt(id);
+        }
+    }
+
+    private static long checksum(Bucket bucket, int[] answers) {
+        CRC32 crc = new CRC32();
+        for (int id = 0; id < bucket.size; id++) {
+            for (int i = 0; i < bucket.length; i++) {
+                crc.update(bucket.letter(id, i));
+            }
+        }
+        for (int answer : answers) {
+            crc.update(answer >>> 24);
+            crc.update(answer >>> 16);
+            crc.update(answer >>> 8);
+            crc.update(answer);
+        }
+        return crc.getValue();
+    }
+
+}
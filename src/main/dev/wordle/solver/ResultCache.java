@@ -0,0 +1,268 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The results of recent solver queries, so that repeated queries are not solved again.
+ *
+ * Queries are keyed by what they mean rather than how they are written: the letters allowed at every position and
+ * the letters required somewhere, which is exactly what decides the words a {@link Filter} accepts. Eliminated
+ * letters in any order or repeated give the same key, and so do all the queries that no word can match.
+ * The least recently used result is dropped once the cache is full. The cache can be saved to a file and loaded by
+ * a later run; the file records a checksum of the words, answers and frequencies, since results are word ids.
+ * <pre>
+ *   int magic, int version, long checksum, int entries
+ *   for each entry, least recently used first: int length, length masks, int required, boolean suggest, int count,
+ *   int results, results ids
+ * </pre>
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x57524553; // "WRES"
+    private static final int VERSION = 1;
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final int capacity;
+    private final LinkedHashMap<Key, int[]> results;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+
+    /**
+     * A query in canonical form
+     * @param allowed the letters allowed at every position as 26-bit masks
+     * @param required the letters that must appear somewhere and are not already fixed at a position
+     * @param suggest whether the result is a list of suggested guesses rather than candidates
+     * @param count the number of results asked for
+     */
+    public record Key(int[] allowed, int required, boolean suggest, int count) {
+
+        /**
+         * @param filter the compiled query
+         * @param suggest whether the result is a list of suggested guesses rather than candidates
+         * @param count the number of results asked for
+         * @return the canonical key of the query; queries that no word can match all get the same key
+         */
+        public static Key of(Filter filter, boolean suggest, int count) {
+            int[] allowed = filter.allowed();
+            int required = filter.required();
+            int anywhere = 0;
+            boolean empty = false;
+            for (int letters : allowed) {
+                if (Integer.bitCount(letters) == 1) { required &= ~letters; }
+                anywhere |= letters;
+                empty |= letters == 0;
+            }
+            if (empty || (required & ~anywhere) != 0) {
+                Arrays.fill(allowed, 0);
+                required = 0;
+            }
+            return new Key(allowed, required, suggest, count);
+        }
+
+        /**
+         * @return whether nothing is known about the word yet
+         */
+        public boolean open() {
+            if (required != 0) { return false; }
+            for (int letters : allowed) {
+                if (letters != ALL_LETTERS) { return false; }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && required == other.required && suggest == other.suggest
+                    && count == other.count && Arrays.equals(allowed, other.allowed);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * (31 * Arrays.hashCode(allowed) + required) + Boolean.hashCode(suggest)) + count;
+        }
+
+    }
+
+    /**
+     * @param capacity the number of results to keep; 0 keeps none
+     */
+    public ResultCache(int capacity) {
+        this.capacity = capacity;
+        this.results = new LinkedHashMap<Key, int[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, int[]> eldest) {
+                if (size() <= ResultCache.this.capacity) { return false; }
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return the result of a query, or null if it is not cached; the array must not be modified
+     */
+    public synchronized int[] get(Key key) {
+        int[] ids = results.get(key);
+        if (ids != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return ids;
+    }
+
+    /**
+     * @param ids the result of the query, which must not be modified afterwards
+     */
+    public synchronized void put(Key key, int[] ids) {
+        results.put(key, ids);
+    }
+
+    /**
+     * Drop every result and reset the counters
+     */
+    public synchronized void clear() {
+        results.clear();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized long hits() {
+        return hits;
+    }
+
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * @return the share of lookups that were hits, between 0 and 1
+     */
+    public synchronized double hitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d evictions, %d of %d entries",
+                hits, misses, 100 * hitRate(), evictions, results.size(), capacity);
+    }
+
+    /**
+     * Add the results saved by {@link #save}, unless they were computed from other words
+     * @param path the cache file
+     * @param checksum the checksum of the current words, see {@link #checksum}
+     * @return the number of results loaded, 0 if the file is missing or out of date
+     * @throws IOException if the file exists but cannot be read
+     */
+    public int load(Path path, long checksum) throws IOException {
+        if (!Files.exists(path)) { return 0; }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != checksum) { return 0; }
+            int entries = in.readInt();
+            for (int i = 0; i < entries; i++) {
+                int[] allowed = readInts(in);
+                int required = in.readInt();
+                boolean suggest = in.readBoolean();
+                int count = in.readInt();
+                put(new Key(allowed, required, suggest, count), readInts(in));
+            }
+            return entries;
+        } catch (EOFException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Write every result to a file. The file is written next to the target and then moved into place.
+     * @param path the cache file
+     * @param checksum the checksum of the current words, see {@link #checksum}
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(Path path, long checksum) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(checksum);
+            out.writeInt(results.size());
+            for (Map.Entry<Key, int[]> entry : results.entrySet()) {
+                Key key = entry.getKey();
+                writeInts(out, key.allowed());
+                out.writeInt(key.required());
+                out.writeBoolean(key.suggest());
+                out.writeInt(key.count());
+                writeInts(out, entry.getValue());
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return a checksum of everything results depend on: the words, answers and frequencies of the lengths
+     */
+    public static long checksum(Vocabulary vocabulary, int minLength, int maxLength) {
+        CRC32 crc = new CRC32();
+        for (int length = minLength; length <= maxLength; length++) {
+            Bucket bucket = vocabulary.ofLength(length);
+            for (int id = 0; id < bucket.size; id++) {
+                for (int i = 0; i < length; i++) {
+                    crc.update(bucket.letter(id, i));
+                }
+            }
+            for (int id : vocabulary.answers().ids(bucket)) {
+                updateInt(crc, id);
+            }
+            for (long score : vocabulary.frequencies().scores(length)) {
+                updateInt(crc, (int) (score >>> 32));
+                updateInt(crc, (int) score);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static void updateInt(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
+    private static int[] readInts(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+}
@@ -0,0 +1,165 @@
+package main.dev.wordle.solver;
+
+import main.dev.wordle.common.Bitset;
+import main.dev.wordle.common.Bucket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Finds the first words of a bucket that pass a {@link Filter} by testing every word, with the bucket split
+ * into chunks that are scanned in parallel on a fork-join pool.
+ *
+ * The results are collected chunk by chunk in id order, so they are the same whatever the number of workers.
+ * A chunk stops as soon as it has found enough matches on its own, and once the chunks up to some point are
+ * known to hold enough matches, the chunks after it are skipped.
+ *
+ * Words can also be ranked by a score instead ({@link #top}): every chunk then keeps its best matches in a
+ * bounded heap and the heaps of the chunks are merged, so the full set of matches is never sorted.
+ */
+public class Scan {
+
+    private static final int CHUNK = 4096;
+
+    private final Bucket bucket;
+    private final Filter filter;
+    private final Bitset subset;
+    private final int limit;
+    private final int[] masks;
+    private final long[] codes;
+    private final AtomicInteger bound = new AtomicInteger(Integer.MAX_VALUE);
+
+    private Scan(Bucket bucket, Filter filter, Bitset subset, int limit) {
+        this.bucket = bucket;
+        this.filter = filter;
+        this.subset = subset;
+        this.limit = limit;
+        this.masks = bucket.masks();
+        this.codes = bucket.codes();
+    }
+
+    /**
+     * @param bucket the words to scan
+     * @param filter the constraints the words must pass
+     * @param limit the maximum number of words to return
+     * @param pool the pool to scan on
+     * @return the ids of the first words that pass the filter, in increasing order
+     */
+    public static int[] first(Bucket bucket, Filter filter, int limit, ForkJoinPool pool) {
+        return first(bucket, filter, null, limit, pool);
+    }
+
+    /**
+     * @param subset the words to consider, such as the answers, or null for every word
+     * @see #first(Bucket, Filter, int, ForkJoinPool)
+     */
+    public static int[] first(Bucket bucket, Filter filter, Bitset subset, int limit, ForkJoinPool pool) {
+        if (limit <= 0 || bucket.size == 0) { return new int[0]; }
+        return new Scan(bucket, filter, subset, limit).run(pool);
+    }
+
+    /**
+     * @param bucket the words to scan
+     * @param filter the constraints the words must pass
+     * @param limit the maximum number of words to return
+     * @param scores the score of every word of the bucket, indexed by id
+     * @param pool the pool to scan on
+     * @return the ids of the words with the highest scores that pass the filter, best first;
+     * words with equal scores are in increasing order
+     */
+    public static int[] top(Bucket bucket, Filter filter, int limit, long[] scores, ForkJoinPool pool) {
+        return top(bucket, filter, null, limit, scores, pool);
+    }
+
+    /**
+     * @param subset the words to consider, such as the answers, or null for every word
+     * @see #top(Bucket, Filter, int, long[], ForkJoinPool)
+     */
+    public static int[] top(Bucket bucket, Filter filter, Bitset subset, int limit, long[] scores, ForkJoinPool pool) {
+        if (limit <= 0 || bucket.size == 0) { return new int[0]; }
+        return new Scan(bucket, filter, subset, limit).rank(scores, pool);
+    }
+
+    private int[] rank(long[] scores, ForkJoinPool pool) {
+        int chunks = (bucket.size + CHUNK - 1) / CHUNK;
+        if (chunks == 1 || pool.getParallelism() == 1) {
+            return rank(scores, 0, bucket.size).toArray();
+        }
+        List<ForkJoinTask<TopK>> tasks = new ArrayList<ForkJoinTask<TopK>>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int from = chunk * CHUNK;
+            tasks.add(pool.submit(() -> rank(scores, from, Math.min(bucket.size, from + CHUNK))));
+        }
+        TopK top = new TopK(limit, scores);
+        for (ForkJoinTask<TopK> task : tasks) {
+            top.merge(task.join());
+        }
+        return top.toArray();
+    }
+
+    private TopK rank(long[] scores, int from, int to) {
+        TopK top = new TopK(limit, scores);
+        for (int id = from; id < to; id++) {
+            if (test(id)) {
+                top.offer(id);
+            }
+        }
+        return top;
+    }
+
+    private int[] run(ForkJoinPool pool) {
+        int chunks = (bucket.size + CHUNK - 1) / CHUNK;
+        if (chunks == 1 || pool.getParallelism() == 1) {
+            return scan(0, 0, bucket.size);
+        }
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<ForkJoinTask<int[]>>(chunks);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int index = chunk;
+            tasks.add(pool.submit(() -> scan(index, index * CHUNK, Math.min(bucket.size, (index + 1) * CHUNK))));
+        }
+        int[] result = new int[limit];
+        int count = 0;
+        for (int chunk = 0; chunk < chunks && count < limit; chunk++) {
+            int[] found = tasks.get(chunk).join();
+            int taken = Math.min(found.length, limit - count);
+            System.arraycopy(found, 0, result, count, taken);
+            count += taken;
+            if (count == limit) {
+                bound.accumulateAndGet(chunk, Math::min);
+            }
+        }
+        for (ForkJoinTask<int[]> task : tasks) {
+            task.cancel(false);
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Scan a chunk, unless the chunks before it already hold enough matches
+     * @param chunk the index of the chunk
+     * @return the first matches of the chunk
+     */
+    private int[] scan(int chunk, int from, int to) {
+        if (chunk > bound.get()) { return new int[0]; }
+        int[] found = new int[limit];
+        int count = 0;
+        for (int id = from; id < to && count < limit; id++) {
+            if (test(id)) {
+                found[count++] = id;
+            }
+        }
+        if (count == limit) {
+            bound.accumulateAndGet(chunk, Math::min);
+        }
+        return count == limit ? found : Arrays.copyOf(found, count);
+    }
+
+    private boolean test(int id) {
+        return filter.test(masks[id], codes[id]) && (subset == null || subset.contains(id));
+    }
+
+}
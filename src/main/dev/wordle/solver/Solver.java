@@ -1,17 +1,36 @@
 package main.dev.wordle.solver;
 
+import main.dev.wordle.common.Bitset;
+import main.dev.wordle.common.Bucket;
 import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.Frequencies;
+import main.dev.wordle.common.PatternMatrix;
 import main.dev.wordle.common.Vocabulary;
 import picocli.CommandLine;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.IntStream;
-
-import static java.util.stream.Collectors.toMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 @CommandLine.Command(
         name = "solver",
@@ -29,6 +48,22 @@ import static java.util.stream.Collectors.toMap;
                 letter tell us about partially discovered letters (yellow) and asterisk tells us
                 about what has not been discovered yet. -e should contain all the eliminated letters
                 and the order does not matter
+                Add -s N to get the N guesses that are expected to narrow down the candidates the most
+                Example: java -jar wordle.jar solver -w "Pl***" -e "ACE" -s 5
+                Use --batch to solve many queries in one go, one "<word> <eliminated>" query per line
+                read from a file or from the standard input; results are printed in the input order
+                Example: java -jar wordle.jar solver --batch queries.txt
+                Use -i N to solve a game of N-letter words step by step: enter every guess followed by its
+                colours (g=green, y=yellow, anything else=grey) and the candidates are narrowed down as you go
+                Example: java -jar wordle.jar solver -i 5, then "crane g.y.." at the prompt
+                Add -n N to solve N boards at once, entering the colours of every board after each guess
+                Example: java -jar wordle.jar solver -i 5 -n 4, then "crane g.y.. ..... yy... ggggg" at the prompt
+                Use --daemon to keep a warm solver running in the background; while it is up, -w/-e queries
+                are forwarded to it over a Unix domain socket instead of loading everything again
+                Example: java -jar wordle.jar solver --daemon &
+                Equivalent queries are answered from a cache of recent results; add --cache FILE to keep it
+                between runs, so that the next run or batch starts with them
+                Example: java -jar wordle.jar solver --batch queries.txt --cache solver.cache
                 """
 )
 public class Solver implements Runnable {
@@ -44,13 +79,73 @@ public class Solver implements Runnable {
             description="Eliminated letters (in any order, no separators)"
     )
     private static String eliminated;
+
+    @CommandLine.Option(
+            names={"-s", "--suggest"},
+            description="Suggest the N guesses that reveal the most information about the candidates"
+    )
+    private static int suggest;
+
+    @CommandLine.Option(
+            names={"-b", "--batch"},
+            arity="0..1",
+            fallbackValue="-",
+            description="Solve one query per line from a file, or from the standard input if no file is given"
+    )
+    private static String batch;
+
+    @CommandLine.Option(
+            names={"-i", "--interactive"},
+            description="Solve a game of words of the given length guess by guess"
+    )
+    private static int interactive;
+
+    @CommandLine.Option(
+            names={"-n", "--boards"},
+            description="The number of boards solved at once with --interactive (default: 1)"
+    )
+    private static int boards = 1;
+
+    @CommandLine.Option(
+            names={"-d", "--daemon"},
+            description="Keep running and answer the queries of other solver invocations"
+    )
+    private static boolean daemon;
+
+    @CommandLine.Option(
+            names={"--socket"},
+            description="The socket of the daemon (default: ~/.cache/wordle/solver.sock)"
+    )
+    private static Path socket = Daemon.defaultSocket();
+
+    @CommandLine.Option(
+            names={"-l", "--local"},
+            description="Solve in this process even if a daemon is running"
+    )
+    private static boolean local;
+
+    @CommandLine.Option(
+            names={"--cache"},
+            description="Keep the results of queries in a file, so that the next run starts with them"
+    )
+    private static Path cacheFile;
+    private static final String UNDO_STRING = ":UNDO";
+    private static final String LIST_STRING = ":LIST";
+    private static final String SUGGEST_STRING = ":SUGGEST";
+    private static final int MAX_COUNT = 1000;
     private static final Vocabulary vocabulary;
     private static final Config config;
+    private static final ForkJoinPool pool;
+    private static final Map<Integer, PatternMatrix> matrices = new ConcurrentHashMap<Integer, PatternMatrix>();
+    private static final Map<Integer, Optional<OpeningBook>> books = new ConcurrentHashMap<Integer, Optional<OpeningBook>>();
+    private static final ResultCache cache;
 
     static {
         try {
             vocabulary = Vocabulary.getInstance();
             config = new Config();
+            pool = config.SOLVER_THREADS > 0 ? new ForkJoinPool(config.SOLVER_THREADS) : ForkJoinPool.commonPool();
+            cache = new ResultCache(config.SOLVER_CACHE_SIZE);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -63,91 +158,525 @@ public class Solver implements Runnable {
 
     @Override
     public void run() {
-        System.out.println("\nSolving...\n");
-        String eliminatedFmt = eliminated.toUpperCase();
-        if (!Validator.validate(word, eliminatedFmt)) {
-           System.out.println("Invalid input\n");
-           return;
+        if (batch != null) {
+            try {
+                loadCache();
+                runBatch(batch);
+                saveCache();
+                System.err.println("Cache: " + cache);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        if (interactive > 0) {
+            try {
+                if (boards > 1) {
+                    runBoards(interactive, boards);
+                } else {
+                    runInteractive(interactive);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        if (daemon) {
+            try {
+                runDaemon();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return;
+        }
+        String response = local || word == null ? null : Daemon.forward(socket, Daemon.request(word, eliminated, suggest));
+        if (response != null) {
+            System.out.print(response);
+            return;
+        }
+        try {
+            loadCache();
+            System.out.print(answer(word, eliminated, suggest));
+            saveCache();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        showCandidates(word, eliminatedFmt);
     }
 
     /**
-     * Display candidate words that match the pattern
+     * Start with the results saved by a previous run, if there is a cache file
      */
-    private static void showCandidates(String word, String eliminated) {
-        System.out.println("\nCandidates:\n");
-        vocabulary.filter(word.length());
-        vocabulary
-                .words
-                .stream()
-                .filter(candidate -> !containsEliminated(candidate, eliminated))
-                .filter(candidate -> matchesDiscovered(candidate, word))
-                .filter(candidate -> matchesPartiallyDiscovered(candidate, word))
-                .limit(config.DISPLAY_SOLUTIONS)
-                .forEach(System.out::println);
+    private static void loadCache() throws IOException {
+        if (cacheFile == null) { return; }
+        cache.load(cacheFile, ResultCache.checksum(vocabulary, config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH));
     }
 
     /**
-     * Check if the word contains one of eliminated strings
+     * Save the results for the next run, if there is a cache file
      */
-    private static boolean containsEliminated(String word, String eliminated) {
-        String rx = String.format(".*[%s].*", eliminated.toUpperCase());
-        return word.toUpperCase().matches(rx);
+    private static void saveCache() throws IOException {
+        if (cacheFile == null) { return; }
+        cache.save(cacheFile, ResultCache.checksum(vocabulary, config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH));
     }
 
     /**
-     * Check is the word contains discovered letters
+     * Solve a single query
+     * @param word the discovered letters
+     * @param eliminated the eliminated letters
+     * @param suggest the number of guesses to suggest, or 0 to list the candidates
+     * @return the output of the solver
      */
-    private static boolean matchesDiscovered(String candidate, String word) {
-        String fullMatchRx = word.replaceAll("[^A-Z]", ".").toLowerCase();
-        return candidate.matches(fullMatchRx);
+    public static String answer(String word, String eliminated, int suggest) {
+        StringWriter buffer = new StringWriter();
+        PrintWriter out = new PrintWriter(buffer);
+        out.println("\nSolving...\n");
+        if (word == null) {
+            out.println("--word is required\n");
+            out.println("Invalid input\n");
+            return buffer.toString();
+        }
+        String eliminatedFmt = eliminated == null ? "" : eliminated.toUpperCase();
+        String error = Validator.check(word, eliminatedFmt);
+        if (error != null) {
+            out.println(error + "\n");
+            out.println("Invalid input\n");
+        } else if (suggest > 0) {
+            showSuggestions(out, word, eliminatedFmt, suggest);
+        } else {
+            showCandidates(out, word, eliminatedFmt);
+        }
+        out.flush();
+        return buffer.toString();
     }
 
     /**
-     * Check for partial matches. We want to make sure that the word contains these letters but not in
-     * the same index where the previously discovered letters already are nor in the eliminated places
-     * where the partial discovery was observed.
+     * Run as a daemon until the process is stopped
      */
-    private static boolean matchesPartiallyDiscovered(String candidate, String word) {
-        String lowerWord = candidate.toLowerCase();
-        Map<Character, Set<Integer>> possibilities = new HashMap<Character, Set<Integer>>();
-        Set<Integer> discovered = new HashSet<Integer>();
-        Set<Integer> availableIndices = new HashSet<Integer>();
+    private static void runDaemon() throws IOException {
+        long start = System.nanoTime();
+        int queries = Daemon.warmUp();
+        cache.clear();
+        loadCache();
+        Daemon server = Daemon.bind(socket);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                // the socket file is left behind and replaced by the next daemon
+            }
+            try {
+                saveCache();
+            } catch (IOException e) {
+                System.err.println("Could not save the cache: " + e.getMessage());
+            }
+            System.out.println("Cache: " + cache);
+        }));
+        try {
+            System.out.printf("Warmed up with %d queries in %d ms, listening on %s%n",
+                    queries, (System.nanoTime() - start) / 1_000_000, socket);
+            server.serve();
+        } finally {
+            server.close();
+        }
+    }
 
-        Map<Integer, Character> map = IntStream.range(0, word.length()).boxed().collect(toMap(i -> i, word::charAt));
+    /**
+     * Display candidate words that match the pattern
+     */
+    private static void showCandidates(PrintWriter out, String word, String eliminated) {
+        out.println("\nCandidates:\n");
+        candidates(word, eliminated, config.DISPLAY_SOLUTIONS).forEach(out::println);
+    }
 
-        for (Map.Entry<Integer, Character> entry : map.entrySet()) {
-            if (Character.isUpperCase(entry.getValue())) {
-                discovered.add(entry.getKey());
-            }
+    /**
+     * Find the candidate words that match the pattern. Only the words that can be the answer are candidates.
+     * If the frequency file scores words of this length, the most common candidates are returned: the bucket is
+     * scanned in parallel on the solver threads, each keeping only its best few matches.
+     * Otherwise the first candidates are returned in alphabetical order. When the first letter is known and every
+     * word can be the answer, the word graph is walked: it only enters the branch of that letter and skips every
+     * branch that breaks a constraint. Otherwise the bucket is scanned in parallel on the solver threads
+     * (SOLVER_THREADS in the config) instead. Both stop after the first few matches.
+     * @param limit the maximum number of candidates to return
+     * @return the candidates, most common first or in alphabetical order
+     */
+    public static List<String> candidates(String word, String eliminated, int limit) {
+        Bucket bucket = vocabulary.ofLength(word.length());
+        Filter filter = new Filter(word, eliminated);
+        ResultCache.Key key = ResultCache.Key.of(filter, false, limit);
+        int[] ids = cache.get(key);
+        if (ids == null) {
+            ids = candidates(bucket, word, filter, limit);
+            cache.put(key, ids);
         }
+        return Arrays.stream(ids).mapToObj(bucket::get).toList();
+    }
 
-        for (int i = 0; i < word.length(); i++) {
-            if (!discovered.contains(i)) {
-                availableIndices.add(i);
+    /**
+     * The same query as {@link #candidates(String, String, int)}, always solved and never taken from the cache
+     */
+    public static List<String> uncachedCandidates(String word, String eliminated, int limit) {
+        Bucket bucket = vocabulary.ofLength(word.length());
+        int[] ids = candidates(bucket, word, new Filter(word, eliminated), limit);
+        return Arrays.stream(ids).mapToObj(bucket::get).toList();
+    }
+
+    private static int[] candidates(Bucket bucket, String word, Filter filter, int limit) {
+        Frequencies frequencies = vocabulary.frequencies();
+        Bitset answers = vocabulary.answers().set(bucket.length);
+        int[] ids;
+        if (frequencies.available(bucket.length)) {
+            ids = Scan.top(bucket, filter, answers, limit, frequencies.scores(bucket.length), pool);
+        } else if (answers == null && Character.isUpperCase(word.charAt(0))) {
+            ids = bucket.dawg().match(filter.allowed(), filter.required(), limit);
+        } else {
+            ids = Scan.first(bucket, filter, answers, limit, pool);
+        }
+        return ids;
+    }
+
+    /**
+     * Display the guesses with the highest expected information over the candidates that match the pattern.
+     * Every word of the same length is considered as a guess, not just the candidates.
+     */
+    private static void showSuggestions(PrintWriter out, String word, String eliminated, int count) {
+        out.println("\nSuggestions:\n");
+        Bucket bucket = vocabulary.ofLength(word.length());
+        Filter filter = new Filter(word, eliminated);
+        int[] candidates = match(bucket, filter);
+        Entropy entropy = new Entropy(bucket, candidates, loadMatrix(bucket));
+        int[] histogram = new int[Feedback.patterns(bucket.length)];
+        for (int id : suggestions(bucket, filter, count)) {
+            out.printf("%s (%.2f bits)%n", bucket.get(id), entropy.score(id, histogram));
+        }
+        out.printf("%n%d candidates remaining%n", candidates.length);
+    }
+
+    /**
+     * Solve a stream of queries, one "<word> <eliminated>" pair per line.
+     * The vocabulary is loaded once and queries are solved in parallel, but at most four per solver thread
+     * are in flight at any time and results are written in the order of the input.
+     * @param source a file with the queries, or "-" for the standard input
+     * @throws IOException if the queries cannot be read
+     */
+    private static void runBatch(String source) throws IOException {
+        BufferedReader reader = source.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8);
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        int window = 4 * pool.getParallelism();
+        Deque<ForkJoinTask<String>> pending = new ArrayDeque<ForkJoinTask<String>>();
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) { continue; }
+                String query = line.trim();
+                pending.add(pool.submit(() -> solve(query)));
+                if (pending.size() >= window) {
+                    out.println(pending.poll().join());
+                }
             }
         }
+        while (!pending.isEmpty()) {
+            out.println(pending.poll().join());
+        }
+        out.flush();
+    }
 
-        for (Map.Entry<Integer, Character> entry : map.entrySet()) {
-            if (Character.isLowerCase(entry.getValue())) {
-                Set<Integer> availableWithoutThis = new HashSet<Integer>(availableIndices);
-                availableWithoutThis.remove(entry.getKey());
-                possibilities.put(entry.getValue(), availableWithoutThis);
-                if (!lowerWord.contains(entry.getValue().toString())) {
-                    return false;
+    /**
+     * Solve a game step by step. Each line is either a guess followed by its colours or a command;
+     * only the candidates left by the previous guesses are tested against a new one.
+     * @param length the length of the word
+     * @throws IOException if the standard input cannot be read
+     */
+    private static void runInteractive(int length) throws IOException {
+        if (length < config.MIN_WORD_LENGTH || length > config.MAX_WORD_LENGTH) {
+            System.out.printf("Word length must be between %d and %d%n", config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH);
+            return;
+        }
+        Bucket bucket = vocabulary.ofLength(length);
+        Candidates candidates = new Candidates(bucket, vocabulary.answers().ids(bucket));
+        String opening = null;
+        int openingPattern = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        System.out.println("Enter each guess followed by its colours (g=green, y=yellow, anything else=grey), e.g. \"crane g.y..\"");
+        System.out.printf("Commands: %s, %s [N], %s [N], %s%n", UNDO_STRING, LIST_STRING, SUGGEST_STRING, Config.QUIT_STRING);
+        System.out.printf("%d candidates%n> ", candidates.size());
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+");
+            String command = parts[0].toUpperCase();
+            if (command.equals(Config.QUIT_STRING)) {
+                return;
+            } else if (command.equals(UNDO_STRING)) {
+                System.out.println(candidates.undo() ? "Undone" : "Nothing to undo");
+                showRemaining(candidates, config.DISPLAY_SOLUTIONS);
+            } else if (command.equals(LIST_STRING)) {
+                int count = count(parts);
+                if (count > 0) { showRemaining(candidates, count); }
+            } else if (command.equals(SUGGEST_STRING)) {
+                int count = count(parts);
+                if (count > 0) {
+                    Entropy entropy = new Entropy(candidates.bucket, candidates.ids(), loadMatrix(candidates.bucket));
+                    int[] histogram = new int[Feedback.patterns(length)];
+                    int[] best = opening(candidates, opening, openingPattern, count);
+                    for (int id : best != null ? best : entropy.best(count, pool)) {
+                        System.out.printf("%s (%.2f bits)%n", candidates.bucket.get(id), entropy.score(id, histogram));
+                    }
+                }
+            } else if (parts.length == 2 && parts[0].matches("[A-Za-z]{" + length + "}") && parts[1].length() == length) {
+                if (candidates.steps() == 0) {
+                    opening = parts[0].toLowerCase();
+                    openingPattern = Candidates.parse(parts[1]);
                 }
+                candidates.apply(parts[0], Candidates.parse(parts[1]));
+                showRemaining(candidates, config.DISPLAY_SOLUTIONS);
+            } else if (!line.isBlank()) {
+                System.out.printf("Expected a %d-letter guess followed by %d colours, or a command%n", length, length);
             }
+            System.out.print("> ");
         }
+    }
 
-        for (int i = 0; i < candidate.length(); i++) {
-            if (possibilities.containsKey(lowerWord.charAt(i))) {
-                if (!possibilities.get(lowerWord.charAt(i)).contains(i)) {
-                    return false;
+    /**
+     * Parse the optional count of a command such as :LIST 10, reporting a count that is out of range
+     * @return the count, DISPLAY_SOLUTIONS if there is none, or -1 if it is invalid
+     */
+    private static int count(String[] parts) {
+        if (parts.length == 1) { return config.DISPLAY_SOLUTIONS; }
+        if (parts.length == 2 && parts[1].matches("\\d{1,9}")) {
+            int count = Integer.parseInt(parts[1]);
+            if (count >= 1 && count <= MAX_COUNT) { return count; }
+        }
+        System.out.printf("Expected a count between 1 and %d%n", MAX_COUNT);
+        return -1;
+    }
+
+    /**
+     * Solve several boards that share their guesses. Each guess is followed by the colours of every board; the
+     * colours of a board that has been solved are ignored, so any placeholder such as "-" will do. Suggestions
+     * are scored over all the unsolved boards together.
+     * @param length the length of the words
+     * @param count the number of boards
+     * @throws IOException if the standard input cannot be read
+     */
+    private static void runBoards(int length, int count) throws IOException {
+        if (length < config.MIN_WORD_LENGTH || length > config.MAX_WORD_LENGTH) {
+            System.out.printf("Word length must be between %d and %d%n", config.MIN_WORD_LENGTH, config.MAX_WORD_LENGTH);
+            return;
+        }
+        Bucket bucket = vocabulary.ofLength(length);
+        int[] answers = vocabulary.answers().ids(bucket);
+        Candidates[] candidates = new Candidates[count];
+        String[] solved = new String[count];
+        int[] solvedAt = new int[count];
+        for (int i = 0; i < count; i++) {
+            candidates[i] = new Candidates(bucket, answers);
+        }
+        int turns = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        System.out.printf("Enter each guess followed by its colours on each of the %d boards, e.g. \"crane g.y.. ..... yy... ggggg\"%n", count);
+        System.out.printf("Commands: %s, %s [N], %s [N], %s%n", UNDO_STRING, LIST_STRING, SUGGEST_STRING, Config.QUIT_STRING);
+        System.out.printf("%d candidates on each board%n> ", answers.length);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.trim().split("\\s+");
+            String command = parts[0].toUpperCase();
+            if (command.equals(Config.QUIT_STRING)) {
+                return;
+            } else if (command.equals(UNDO_STRING)) {
+                if (turns == 0) {
+                    System.out.println("Nothing to undo");
+                } else {
+                    for (int i = 0; i < count; i++) {
+                        if (solved[i] == null || solvedAt[i] == turns) {
+                            candidates[i].undo();
+                            solved[i] = null;
+                        }
+                    }
+                    turns--;
+                    System.out.println("Undone");
+                }
+                showBoards(candidates, solved, config.DISPLAY_SOLUTIONS);
+            } else if (command.equals(LIST_STRING)) {
+                int display = count(parts);
+                if (display > 0) { showBoards(candidates, solved, display); }
+            } else if (command.equals(SUGGEST_STRING)) {
+                int display = count(parts);
+                if (display > 0) {
+                    List<int[]> open = new ArrayList<int[]>();
+                    for (int i = 0; i < count; i++) {
+                        if (solved[i] == null) { open.add(candidates[i].ids()); }
+                    }
+                    MultiEntropy entropy = new MultiEntropy(bucket, open, loadMatrix(bucket));
+                    int[] histogram = new int[Feedback.patterns(length)];
+                    for (int id : entropy.best(display, pool)) {
+                        System.out.printf("%s (%.2f bits)%n", bucket.get(id), entropy.score(id, histogram));
+                    }
+                }
+            } else if (parts.length == count + 1 && parts[0].matches("[A-Za-z]{" + length + "}") && colours(parts, solved, length)) {
+                turns++;
+                for (int i = 0; i < count; i++) {
+                    if (solved[i] != null) { continue; }
+                    int pattern = Candidates.parse(parts[i + 1]);
+                    candidates[i].apply(parts[0], pattern);
+                    if (pattern == Feedback.solved(length)) {
+                        solved[i] = parts[0].toLowerCase();
+                        solvedAt[i] = turns;
+                    }
                 }
+                showBoards(candidates, solved, config.DISPLAY_SOLUTIONS);
+            } else if (!line.isBlank()) {
+                System.out.printf("Expected a %d-letter guess followed by %d colours for each of the %d boards, or a command%n", length, length, count);
             }
+            System.out.print("> ");
+        }
+    }
+
+    /**
+     * @return whether every unsolved board has colours of the right length
+     */
+    private static boolean colours(String[] parts, String[] solved, int length) {
+        for (int i = 0; i < solved.length; i++) {
+            if (solved[i] == null && parts[i + 1].length() != length) { return false; }
         }
         return true;
     }
 
+    /**
+     * Display the remaining candidates of every board, or the word it was solved with
+     */
+    private static void showBoards(Candidates[] candidates, String[] solved, int count) {
+        for (int i = 0; i < candidates.length; i++) {
+            if (solved[i] != null) {
+                System.out.printf("Board %d: solved with %s%n", i + 1, solved[i]);
+            } else {
+                System.out.printf("Board %d: ", i + 1);
+                showRemaining(candidates[i], count);
+            }
+        }
+    }
+
+    /**
+     * Display the number of remaining candidates and the first few of them, the most common first if the
+     * frequency file scores them
+     */
+    private static void showRemaining(Candidates candidates, int count) {
+        int[] ids = candidates.ids();
+        if (ids.length == 0) {
+            System.out.printf("No candidates left, use %s to take back a guess%n", UNDO_STRING);
+            return;
+        }
+        System.out.printf("%d candidates remaining%n", ids.length);
+        Frequencies frequencies = vocabulary.frequencies();
+        if (frequencies.available(candidates.bucket.length)) {
+            TopK top = new TopK(count, frequencies.scores(candidates.bucket.length));
+            for (int id : ids) {
+                top.offer(id);
+            }
+            ids = top.toArray();
+        }
+        for (int i = 0; i < Math.min(count, ids.length); i++) {
+            System.out.println(candidates.bucket.get(ids[i]));
+        }
+    }
+
+    /**
+     * Solve a single batch query
+     * @param query the word and, optionally, the eliminated letters separated by whitespace
+     * @return the query followed by a tab and either the comma-separated results or the reason it is invalid
+     */
+    private static String solve(String query) {
+        String[] parts = query.split("\\s+");
+        String word = parts[0];
+        String eliminated = parts.length > 1 ? parts[1].toUpperCase() : "";
+        String error = Validator.check(word, eliminated);
+        if (error != null) {
+            return query + "\tinvalid: " + error;
+        }
+        List<String> results;
+        if (suggest > 0) {
+            Bucket bucket = vocabulary.ofLength(word.length());
+            int[] best = suggestions(bucket, new Filter(word, eliminated), suggest);
+            results = Arrays.stream(best).mapToObj(bucket::get).toList();
+        } else {
+            results = candidates(word, eliminated, config.DISPLAY_SOLUTIONS);
+        }
+        return query + "\t" + String.join(",", results);
+    }
+
+    /**
+     * The precomputed patterns make scoring a table lookup; without them the patterns are computed on the fly.
+     * A matrix is checked against its bucket only the first time, then kept for the following queries.
+     * @return the pattern matrix of the bucket, or null if it has not been built
+     */
+    private static PatternMatrix loadMatrix(Bucket bucket) {
+        PatternMatrix matrix = matrices.get(bucket.length);
+        if (matrix != null) { return matrix; }
+        try {
+            matrix = PatternMatrix.load(bucket);
+        } catch (IOException e) {
+            return null;
+        }
+        if (matrix != null) { matrices.putIfAbsent(bucket.length, matrix); }
+        return matrix;
+    }
+
+    /**
+     * Find the guesses with the highest expected information over the candidates that match the filter. Results are
+     * taken from the cache, then from the opening book for queries that know nothing yet, and only scored otherwise.
+     * @return the ids of the best guesses, best first
+     */
+    private static int[] suggestions(Bucket bucket, Filter filter, int count) {
+        ResultCache.Key key = ResultCache.Key.of(filter, true, count);
+        int[] best = cache.get(key);
+        if (best != null) { return best; }
+        OpeningBook book = key.open() ? loadBook(bucket) : null;
+        best = book != null ? book.first(count) : null;
+        if (best == null) {
+            best = new Entropy(bucket, match(bucket, filter), loadMatrix(bucket)).best(count, pool);
+        }
+        cache.put(key, best);
+        return best;
+    }
+
+    /**
+     * The opening book covers the first turn and, if the first guess was its own, the second one
+     * @param opening the first guess, or null if none has been made
+     * @param pattern the feedback of the first guess
+     * @return the best guesses from the book, or null if the game is past the book or the book is missing
+     */
+    private static int[] opening(Candidates candidates, String opening, int pattern, int count) {
+        if (candidates.steps() > 1) { return null; }
+        OpeningBook book = loadBook(candidates.bucket);
+        if (book == null) { return null; }
+        if (candidates.steps() == 0) { return book.first(count); }
+        return candidates.bucket.indexOf(opening) == book.opening() ? book.second(pattern, count) : null;
+    }
+
+    /**
+     * Books are small and read whole, then kept for the following queries. A missing, stale or unreadable book is
+     * only looked for once per length, so queries do not re-read it or recompute its checksum.
+     * @return the opening book of the bucket, or null if it has not been built
+     */
+    private static OpeningBook loadBook(Bucket bucket) {
+        return books.computeIfAbsent(bucket.length, length -> {
+            try {
+                return Optional.ofNullable(OpeningBook.load(bucket, vocabulary.answers().ids(bucket)));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    /**
+     * Find all the words of the bucket that pass the filter and can be the answer.
+     * Every match is needed here, so the sets of the letter index are combined instead of walking the graph.
+     * @return the ids of the matching words in alphabetical order
+     */
+    private static int[] match(Bucket bucket, Filter filter) {
+        long[] matches = bucket.letterIndex().select(filter.allowed(), filter.required());
+        vocabulary.answers().retain(bucket.length, matches);
+        return Bitset.toArray(matches, bucket.size);
+    }
+
 }
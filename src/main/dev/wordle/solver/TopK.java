@@ -0,0 +1,99 @@
+package main.dev.wordle.solver;
+
+import java.util.Arrays;
+
+/**
+ * The k best word ids seen so far, by score and then by id (so alphabetically among equal scores).
+ *
+ * The ids are kept in a min-heap of at most k entries with the worst of them at the root, so offering an id
+ * costs a comparison with the root and, only if it is better, a sift down: ranking n matches costs
+ * O(n log k) without sorting or even storing them all. Heaps filled by different workers are merged into one.
+ */
+public class TopK {
+
+    private final long[] scores;
+    private final int[] heap;
+    private int size = 0;
+
+    /**
+     * @param k the number of ids to keep
+     * @param scores the score of every word, indexed by id
+     */
+    public TopK(int k, long[] scores) {
+        this.scores = scores;
+        this.heap = new int[Math.max(k, 0)];
+    }
+
+    /**
+     * Keep the id if it is among the k best so far
+     */
+    public void offer(int id) {
+        if (size < heap.length) {
+            heap[size] = id;
+            siftUp(size++);
+        } else if (size > 0 && better(id, heap[0])) {
+            heap[0] = id;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Add the ids kept by another heap over the same scores
+     */
+    public void merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the kept ids, best first
+     */
+    public int[] toArray() {
+        int count = size;
+        int[] kept = Arrays.copyOf(heap, count);
+        int[] ids = new int[count];
+        // pop the worst into the last free slot until the heap is empty, then restore it
+        for (int i = count - 1; i >= 0; i--) {
+            ids[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(0);
+        }
+        System.arraycopy(kept, 0, heap, 0, count);
+        size = count;
+        return ids;
+    }
+
+    private boolean better(int id, int other) {
+        return scores[id] != scores[other] ? scores[id] > scores[other] : id < other;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!better(heap[parent], id)) { break; }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = id;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) { break; }
+            if (child + 1 < size && better(heap[child], heap[child + 1])) { child++; }
+            if (!better(id, heap[child])) { break; }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = id;
+    }
+
+}
@@ -19,35 +19,43 @@ public class Validator {
     }
 
     public static boolean validate(String word, String eliminated) {
-        if (!eliminatedContainsLettersOnly(eliminated)) {
-            System.out.println("--eliminated must contains only letters\n");
+        String error = check(word, eliminated);
+        if (error != null) {
+            System.out.println(error + "\n");
             return false;
         }
+        return true;
+    }
+
+    /**
+     * Validate a query without printing anything
+     * @return the reason why the query is invalid, or null if it is valid
+     */
+    public static String check(String word, String eliminated) {
+        if (!eliminatedContainsLettersOnly(eliminated)) {
+            return "--eliminated must contains only letters";
+        }
         if (!containsUniqueLettersOnly(eliminated)) {
-            System.out.println("--eliminated must contains only unique letters\n");
-            return false;
+            return "--eliminated must contains only unique letters";
         }
         if(!wordContainsLettersOrAsterisksOnly(word)) {
-            System.out.println("--word must contains only letters or asterisks\n");
-            return false;
+            return "--word must contains only letters or asterisks";
         }
         if(!wordContainsExpectedLength(word)) {
-            System.out.printf(
-                    "--word must contain between %d and %d letters\n",
+            return String.format(
+                    "--word must contain between %d and %d letters",
                     config.MIN_WORD_LENGTH,
                     config.MAX_WORD_LENGTH
             );
-            return false;
         }
         if(!eliminatedNotInWord(word, eliminated)) {
-            System.out.println("--eliminated must not contain any of the letters in --word\n");
-            return false;
+            return "--eliminated must not contain any of the letters in --word";
         }
-        return true;
+        return null;
     }
 
     private static boolean eliminatedContainsLettersOnly(String input) {
-        return input.matches("[A-Z]+");
+        return input.matches("[A-Z]*");
     }
 
     private static boolean wordContainsLettersOrAsterisksOnly(String input) {
@@ -0,0 +1,59 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Answers;
+import main.dev.wordle.common.Bitset;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnswersTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Answers are a subset of the words of each length, and every word without an answer list")
+    void testLoad() throws IOException {
+        Bucket bucket = vocabulary.ofLength(5);
+        Path file = Files.createTempFile("answers", ".txt");
+        Files.writeString(file, "PILOT\nplace\n\nnotaword\n");
+        Answers answers;
+        try {
+            answers = Answers.load(file, vocabulary, 8);
+        } finally {
+            Files.delete(file);
+        }
+        int pilot = bucket.indexOf("pilot");
+        int place = bucket.indexOf("place");
+        assertTrue(answers.available(5), "five-letter answers should be listed");
+        assertEquals(2, answers.size(bucket), "unexpected number of answers");
+        assertArrayEquals(new int[]{Math.min(pilot, place), Math.max(pilot, place)}, answers.ids(bucket), "unexpected answers");
+        for (int i = 0; i < 100; i++) {
+            int id = answers.sample(bucket);
+            assertTrue(id == pilot || id == place, "sampled word is not an answer: " + bucket.get(id));
+        }
+        long[] bitmap = Bitset.full(bucket.size);
+        answers.retain(5, bitmap);
+        assertArrayEquals(answers.ids(bucket), Bitset.toArray(bitmap, bucket.size), "only the answers should be retained");
+
+        Bucket four = vocabulary.ofLength(4);
+        assertFalse(answers.available(4), "four-letter answers should not be listed");
+        assertNull(answers.set(4), "every four-letter word should be an answer");
+        assertEquals(four.size, answers.ids(four).length, "every four-letter word should be an answer");
+    }
+
+}
@@ -0,0 +1,62 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Dawg;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DawgTest {
+
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(5);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Every word of the bucket is found under its own id")
+    void testIndexesEveryWord() {
+        Dawg dawg = bucket.dawg();
+        for (int id = 0; id < bucket.size; id++) {
+            assertEquals(id, dawg.indexOf(bucket.get(id)), "unexpected id for " + bucket.get(id));
+        }
+        assertEquals(-1, dawg.indexOf("TRWEZ"), "TRWEZ is not a word");
+        assertTrue(dawg.nodes() < bucket.size, "shared suffixes should be merged");
+    }
+
+    @Test
+    @DisplayName("Pattern queries find the same words as the filter, in the same order")
+    void testMatch() {
+        String[][] queries = {{"Pl***", "ACE"}, {"*****", "AEIOU"}, {"**o*t", ""}, {"P***T", "ABCDE"}};
+        for (String[] query : queries) {
+            Filter filter = new Filter(query[0], query[1]);
+            int[] expected = IntStream.range(0, bucket.size).filter(id -> filter.test(bucket, id)).toArray();
+            int[] actual = bucket.dawg().match(filter.allowed(), filter.required(), bucket.size);
+            assertArrayEquals(expected, actual, "unexpected matches for " + query[0] + " " + query[1]);
+            int[] first = bucket.dawg().match(filter.allowed(), filter.required(), 3);
+            assertEquals(Math.min(3, expected.length), first.length, "the limit should be respected");
+        }
+    }
+
+    @Test
+    @DisplayName("Prefix queries return the words starting with the prefix")
+    void testPrefix() {
+        for (int id : bucket.dawg().prefix("PIL", bucket.size)) {
+            assertTrue(bucket.get(id).startsWith("pil"), "unexpected word " + bucket.get(id));
+        }
+        assertEquals(0, bucket.dawg().prefix("QQQ", 10).length, "no word starts with QQQ");
+    }
+}
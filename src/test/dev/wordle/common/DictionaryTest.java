@@ -0,0 +1,83 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Dictionary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DictionaryTest {
+
+    private static String letters(Dictionary dictionary, int length) {
+        ByteBuffer letters = dictionary.letters(length);
+        StringBuilder words = new StringBuilder();
+        while (letters.hasRemaining()) {
+            words.append((char) ('a' + letters.get()));
+        }
+        return words.toString();
+    }
+
+    @Test
+    @DisplayName("Words are grouped by length, lower-cased, sorted and deduplicated")
+    void testCompile() throws IOException {
+        Path directory = Files.createTempDirectory("dictionary");
+        Path source = directory.resolve("words.txt");
+        Path target = directory.resolve("words.bin");
+        try {
+            Files.writeString(source, "Crane\ncrane\nPILOT\n  slate \nit's\nx-ray\n\n123\nzoo\nab\nzoo\nabc\n");
+            Dictionary.compile(source, target);
+            Dictionary dictionary = Dictionary.open(target);
+            assertEquals(5, dictionary.maxLength());
+            assertEquals(0, dictionary.count(1));
+            assertEquals(1, dictionary.count(2));
+            assertEquals(2, dictionary.count(3), "duplicates should be dropped");
+            assertEquals(0, dictionary.count(4), "no word has 4 letters");
+            assertEquals(3, dictionary.count(5), "duplicates should be found regardless of case");
+            assertEquals(0, dictionary.count(6));
+            assertEquals("ab", letters(dictionary, 2));
+            assertEquals("abczoo", letters(dictionary, 3));
+            assertEquals("", letters(dictionary, 4));
+            assertEquals("cranepilotslate", letters(dictionary, 5));
+            ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(target));
+            int[] offsets = {52, 52, 54, 60, 60};
+            int[] counts = {0, 1, 2, 0, 3};
+            for (int length = 1; length <= 5; length++) {
+                assertEquals(offsets[length - 1], file.getInt(12 + (length - 1) * 8), "offset of length " + length);
+                assertEquals(counts[length - 1], file.getInt(16 + (length - 1) * 8), "count of length " + length);
+            }
+            assertEquals(75, file.capacity(), "the letters of every group should follow the header");
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("The binary file is rebuilt only when the word list is newer")
+    void testStale() throws IOException {
+        Path directory = Files.createTempDirectory("dictionary");
+        Path source = directory.resolve("words.txt");
+        Path target = directory.resolve("words.bin");
+        try {
+            Files.writeString(source, "crane\npilot\n");
+            assertEquals(2, Dictionary.load(source, target).count(5), "a missing file should be built");
+            Files.writeString(source, "crane\npilot\nslate\n");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(target).toMillis() - 60_000));
+            assertEquals(2, Dictionary.load(source, target).count(5), "an up to date file should be kept");
+            Files.setLastModifiedTime(source, FileTime.fromMillis(Files.getLastModifiedTime(target).toMillis() + 60_000));
+            assertEquals(3, Dictionary.load(source, target).count(5), "a file older than the word list should be rebuilt");
+        } finally {
+            Files.deleteIfExists(source);
+            Files.deleteIfExists(target);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+}
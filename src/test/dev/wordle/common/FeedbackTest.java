@@ -0,0 +1,34 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.WordIndex;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FeedbackTest {
+
+    private static int score(String guess, String target) {
+        return Feedback.score(WordIndex.encode(guess), WordIndex.encode(target), Filter.toMask(target), guess.length());
+    }
+
+    @Test
+    @DisplayName("Patterns follow the colours the game shows")
+    void testScore() {
+        assertEquals(Integer.parseInt("21000", 3), score("PLACE", "PILOT"), "unexpected pattern");
+        assertEquals(Feedback.solved(5), score("PILOT", "PILOT"), "a correct guess should be solved");
+        assertEquals(0, score("BRAVE", "PILOT"), "no letters should match");
+        assertEquals(Integer.parseInt("1111", 3), score("ABCD", "DCBA"), "all letters should be partial");
+    }
+
+    @Test
+    @DisplayName("Digits can be read back from a pattern")
+    void testDigit() {
+        int pattern = score("PLACE", "PILOT");
+        assertEquals(Feedback.CORRECT, Feedback.digit(pattern, 0, 5), "P is correct");
+        assertEquals(Feedback.PARTIAL, Feedback.digit(pattern, 1, 5), "L is partial");
+        assertEquals(Feedback.ABSENT, Feedback.digit(pattern, 4, 5), "E is absent");
+    }
+}
@@ -0,0 +1,122 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.AliasTable;
+import main.dev.wordle.common.Answers;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Frequencies;
+import main.dev.wordle.common.Vocabulary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FrequenciesTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Scores are read per word id and only scored words are sampled")
+    void testLoad() throws IOException {
+        Path file = Files.createTempFile("frequencies", ".txt");
+        Files.writeString(file, "pilot 300\nPLACE 100\nnotaword 5\nmalformed\nzzzzz x\n");
+        try {
+            Frequencies frequencies = Frequencies.load(file, vocabulary, 8);
+            Bucket bucket = vocabulary.ofLength(5);
+            assertTrue(frequencies.available(5), "five-letter words should be scored");
+            assertFalse(frequencies.available(4), "four-letter words should not be scored");
+            assertEquals(300, frequencies.scores(5)[bucket.indexOf("pilot")], "unexpected score");
+            assertEquals(100, frequencies.scores(5)[bucket.indexOf("place")], "unexpected score");
+            for (int i = 0; i < 100; i++) {
+                String word = bucket.get(frequencies.sample(bucket));
+                assertTrue(word.equals("pilot") || word.equals("place"), "unscored word sampled: " + word);
+            }
+        } finally {
+            Files.delete(file);
+        }
+        Frequencies none = Frequencies.load(file, vocabulary, 8);
+        assertFalse(none.available(5), "nothing should be scored without the file");
+        assertTrue(none.sample(vocabulary.ofLength(5)) >= 0, "sampling should fall back to a uniform choice");
+    }
+
+    @Test
+    @DisplayName("With an answer list, only answers are sampled and still by their scores")
+    void testSampleAnswers() throws IOException {
+        Path file = Files.createTempFile("frequencies", ".txt");
+        Path answerFile = Files.createTempFile("answers", ".txt");
+        Files.writeString(file, "pilot 300\nplace 100\ncrane 1000\n");
+        Files.writeString(answerFile, "pilot\nplace\nprint\n");
+        try {
+            Frequencies frequencies = Frequencies.load(file, vocabulary, 8);
+            Answers answers = Answers.load(answerFile, vocabulary, 8);
+            Bucket bucket = vocabulary.ofLength(5);
+            int pilot = 0;
+            int samples = 10_000;
+            for (int i = 0; i < samples; i++) {
+                String word = bucket.get(frequencies.sample(bucket, answers));
+                assertTrue(word.equals("pilot") || word.equals("place"), "unexpected word sampled: " + word);
+                if (word.equals("pilot")) { pilot++; }
+            }
+            assertEquals(0.75, pilot / (double) samples, 0.03, "answers should be sampled by their scores");
+            Bucket four = vocabulary.ofLength(4);
+            assertTrue(frequencies.sample(four, answers) < four.size, "lengths without answers fall back to every word");
+        } finally {
+            Files.delete(file);
+            Files.delete(answerFile);
+        }
+    }
+
+    @Test
+    @DisplayName("Counts too large to add up are capped instead of overflowing")
+    void testLargeCounts() throws IOException {
+        Path file = Files.createTempFile("frequencies", ".txt");
+        Files.writeString(file, "pilot 999999999999999999\n".repeat(10) + "place 999999999999999999\n");
+        try {
+            Frequencies frequencies = Frequencies.load(file, vocabulary, 8);
+            Bucket bucket = vocabulary.ofLength(5);
+            assertEquals(Long.MAX_VALUE, frequencies.scores(5)[bucket.indexOf("pilot")], "the total should be capped");
+            assertEquals(999999999999999999L, frequencies.scores(5)[bucket.indexOf("place")], "unexpected score");
+        } finally {
+            Files.delete(file);
+        }
+        AliasTable table = AliasTable.build(new long[] {Long.MAX_VALUE / 4, 0, Long.MAX_VALUE / 4 * 3});
+        int[] counts = new int[3];
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertEquals(0.25, counts[0] / 100_000.0, 0.01, "large weights should keep their proportions");
+        assertEquals(0, counts[1], "a weight of 0 should never be sampled");
+    }
+
+    @Test
+    @DisplayName("The alias table samples in proportion to the weights")
+    void testAliasTable() {
+        long[] weights = {1, 0, 3, 6};
+        AliasTable table = AliasTable.build(weights);
+        int[] counts = new int[weights.length];
+        Random random = new Random(42);
+        int samples = 100_000;
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+        assertEquals(0, counts[1], "a weight of 0 should never be sampled");
+        for (int i = 0; i < weights.length; i++) {
+            assertEquals(weights[i] / 10.0, counts[i] / (double) samples, 0.01, "unexpected frequency of " + i);
+        }
+        assertEquals(0, AliasTable.build(new long[3]).size(), "nothing can be sampled without weights");
+    }
+
+}
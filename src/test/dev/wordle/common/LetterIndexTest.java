@@ -0,0 +1,57 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Bitset;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.LetterIndex;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LetterIndexTest {
+
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(5);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Queries find the same words as the filter")
+    void testSelect() {
+        LetterIndex index = bucket.letterIndex();
+        String[][] queries = {{"Pl***", "ACE"}, {"*****", ""}, {"*****", "AEIOU"}, {"**o*t", "S"}, {"P***T", "ABCDE"}};
+        for (String[] query : queries) {
+            Filter filter = new Filter(query[0], query[1]);
+            int[] expected = IntStream.range(0, bucket.size).filter(id -> filter.test(bucket, id)).toArray();
+            long[] matches = index.select(filter.allowed(), filter.required());
+            assertArrayEquals(expected, Bitset.toArray(matches, bucket.size), "unexpected matches for " + query[0]);
+            assertEquals(expected.length, index.count(filter.allowed(), filter.required()), "unexpected count");
+        }
+    }
+
+    @Test
+    @DisplayName("Sparse and dense sets behave the same")
+    void testBitset() {
+        int[] ids = {1, 5, 64, 130, 199};
+        long[] bitmap = Bitset.full(200);
+        Bitset.of(ids, ids.length, 10_000).and(bitmap);
+        assertArrayEquals(ids, Bitset.toArray(bitmap, 10), "sparse intersection");
+        bitmap = Bitset.full(200);
+        Bitset.of(ids, ids.length, 200).and(bitmap);
+        assertArrayEquals(ids, Bitset.toArray(bitmap, 10), "dense intersection");
+        Bitset.of(new int[]{5, 130}, 2, 10_000).andNot(bitmap);
+        assertArrayEquals(new int[]{1, 64, 199}, Bitset.toArray(bitmap, 10), "difference");
+        assertEquals(3, Bitset.cardinality(bitmap), "unexpected cardinality");
+    }
+}
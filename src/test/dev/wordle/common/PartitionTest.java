@@ -0,0 +1,56 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.Partition;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.common.WordIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PartitionTest {
+
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(5);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Words are grouped by the pattern of the guess against them, in their original order")
+    void testSplit() {
+        Partition partition = new Partition(5);
+        int[] ids = IntStream.range(0, bucket.size).toArray();
+        for (String guess : new String[]{"crane", "pilot", "fuzzy"}) {
+            long code = WordIndex.encode(guess);
+            partition.split(bucket, code, ids, ids.length);
+            assertEquals(bucket.size, partition.total(), "every word should be placed");
+            int largest = 0;
+            for (int pattern = 0; pattern < Feedback.patterns(5); pattern++) {
+                int p = pattern;
+                int[] expected = IntStream.range(0, bucket.size)
+                        .filter(id -> Feedback.score(code, bucket.codes()[id], bucket.masks()[id], 5) == p)
+                        .toArray();
+                assertEquals(expected.length, partition.size(pattern), "unexpected size of group " + pattern);
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], partition.ids()[partition.start(pattern) + i], "unexpected word in group " + pattern);
+                }
+                if (expected.length > partition.size(largest)) { largest = pattern; }
+            }
+            assertEquals(largest, partition.largest(), "unexpected largest group");
+        }
+        partition.split(bucket, WordIndex.encode("pilot"), new int[]{bucket.indexOf("pilot")}, 1);
+        assertEquals(1, partition.total(), "a smaller split should reuse the arrays");
+        assertEquals(1, partition.size(Feedback.solved(5)), "the guess should match itself");
+    }
+
+}
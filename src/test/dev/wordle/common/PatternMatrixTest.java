@@ -0,0 +1,82 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.PatternMatrix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PatternMatrixTest {
+
+    private static Bucket bucket(String... words) {
+        ByteBuffer letters = ByteBuffer.allocate(words.length * words[0].length());
+        for (String word : words) {
+            for (char c : word.toCharArray()) {
+                letters.put((byte) (c - 'a'));
+            }
+        }
+        return new Bucket(words[0].length(), letters.flip());
+    }
+
+    private static void assertMatches(Bucket bucket, PatternMatrix matrix) {
+        long[] codes = bucket.codes();
+        int[] masks = bucket.masks();
+        for (int guess = 0; guess < bucket.size; guess++) {
+            for (int target = 0; target < bucket.size; target++) {
+                assertEquals(Feedback.score(codes[guess], codes[target], masks[target], bucket.length),
+                        matrix.get(guess, target), bucket.get(guess) + " against " + bucket.get(target));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Every pattern of the matrix is the feedback of its guess and target")
+    void testGet() throws IOException {
+        Path directory = Files.createTempDirectory("patterns");
+        Path path = directory.resolve("5.bin");
+        Path wide = directory.resolve("6.bin");
+        try {
+            Bucket bucket = bucket("crane", "eerie", "pilot", "place", "slate");
+            PatternMatrix.build(bucket, path);
+            PatternMatrix matrix = PatternMatrix.load(bucket, path);
+            assertNotNull(matrix);
+            assertMatches(bucket, matrix);
+            Bucket longer = bucket("banana", "cannon", "planet", "string");
+            PatternMatrix.build(longer, wide);
+            PatternMatrix twoBytes = PatternMatrix.load(longer, wide);
+            assertNotNull(twoBytes);
+            assertMatches(longer, twoBytes);
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(wide);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @Test
+    @DisplayName("A matrix built from other words is rejected")
+    void testChecksum() throws IOException {
+        Path directory = Files.createTempDirectory("patterns");
+        Path path = directory.resolve("5.bin");
+        try {
+            PatternMatrix.build(bucket("crane", "pilot", "place"), path);
+            assertNull(PatternMatrix.load(bucket("crane", "pilot", "plate"), path), "the words have changed");
+            assertNull(PatternMatrix.load(bucket("crane", "pilot"), path), "the number of words has changed");
+            assertNotNull(PatternMatrix.load(bucket("crane", "pilot", "place"), path));
+            assertNull(PatternMatrix.load(bucket("crane", "pilot", "place"), directory.resolve("missing.bin")));
+        } finally {
+            Files.deleteIfExists(path);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+}
@@ -1,5 +1,6 @@
 package test.dev.wordle.common;
 
+import main.dev.wordle.common.Bucket;
 import main.dev.wordle.common.Vocabulary;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -7,6 +8,8 @@ import org.junit.jupiter.api.Test;
 import java.io.IOException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VocabularyTest {
@@ -24,10 +27,26 @@ public class VocabularyTest {
 
     @Test
     @DisplayName("Test core functionality of the vocabulary class")
+    @SuppressWarnings("deprecation")
     void test() {
         vocabulary.filter(WORD.length());
         String sampled = vocabulary.sample();
         assertTrue(vocabulary.contains(WORD), "Vocabulary should contain " + WORD);
         assertEquals(sampled.length(), WORD.length(), "unexpected length of sampled word");
     }
+
+    @Test
+    @DisplayName("Views of different lengths are shared and independent of each other")
+    void testOfLength() {
+        Bucket four = vocabulary.ofLength(4);
+        Bucket five = vocabulary.ofLength(5);
+        String sampled = five.sample();
+        assertSame(five, vocabulary.ofLength(5), "views should be cached");
+        assertTrue(five.contains(WORD), "five-letter view should contain " + WORD);
+        assertFalse(four.contains(WORD), "four-letter view should not contain " + WORD);
+        assertEquals(WORD.length(), sampled.length(), "unexpected length of sampled word");
+        assertTrue(five.contains(sampled), "sampled word should be in the vocabulary");
+        assertEquals(4, four.sample().length(), "unexpected length of sampled word");
+        assertEquals(0, vocabulary.ofLength(99).size, "there should be no words of that length");
+    }
 }
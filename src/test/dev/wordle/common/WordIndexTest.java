@@ -0,0 +1,46 @@
+package test.dev.wordle.common;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.common.WordIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WordIndexTest {
+
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(5);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Every word of the bucket is found under its own id")
+    void testIndexesEveryWord() {
+        for (boolean withBloomFilter : new boolean[]{true, false}) {
+            WordIndex index = new WordIndex(bucket, withBloomFilter);
+            for (int id = 0; id < bucket.size; id++) {
+                assertEquals(id, index.indexOf(bucket.get(id)), "unexpected id for " + bucket.get(id));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Lookups ignore case and reject non-words")
+    void testLookups() {
+        WordIndex index = bucket.index();
+        assertEquals(index.indexOf("pilot"), index.indexOf("PILOT"), "lookups should ignore case");
+        assertTrue(index.indexOf("PILOT") >= 0, "PILOT should be indexed");
+        assertEquals(-1, index.indexOf("TRWEZ"), "TRWEZ is not a word");
+        assertEquals(-1, index.indexOf("PIL0T"), "non-letters should be rejected");
+    }
+}
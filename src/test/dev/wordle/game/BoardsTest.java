@@ -0,0 +1,86 @@
+package test.dev.wordle.game;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.game.Boards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardsTest {
+
+    private static final Config config;
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            config = new Config();
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Every guess is played on the unsolved boards and the game ends when all of them are solved")
+    void testSolveAll() {
+        Boards boards = new Boards(new String[]{"PILOT", "CRANE", "PLACE", "SLATE"}, config.GUESSES);
+        assertEquals(config.GUESSES + 3, boards.maxGuesses);
+        assertNull(boards.guess("crane"));
+        assertEquals(1, boards.solved());
+        assertTrue(boards.boards[1].finished);
+        assertNull(boards.guess("pilot"));
+        assertNull(boards.guess("place"));
+        assertEquals(1, boards.boards[1].guesses, "a solved board should not take further guesses");
+        assertFalse(boards.finished());
+        assertNull(boards.guess("slate"));
+        assertTrue(boards.finished());
+        assertEquals(4, boards.solved());
+        assertEquals(4, boards.turns());
+        assertEquals(2, boards.boards[0].guesses);
+        assertEquals(4, boards.boards[3].guesses);
+    }
+
+    @Test
+    @DisplayName("Guesses that are not words are refused without using a turn")
+    void testInvalidGuess() {
+        Boards boards = new Boards(new String[]{"PILOT", "CRANE"}, config.GUESSES);
+        assertNotNull(boards.guess("paaaa"));
+        assertNotNull(boards.guess("pilots"));
+        assertNotNull(boards.guess("p1lot"));
+        assertEquals(0, boards.turns());
+        assertEquals(0, boards.boards[0].guesses);
+    }
+
+    @Test
+    @DisplayName("The boards run out of guesses together")
+    void testOutOfGuesses() {
+        Boards boards = new Boards(new String[]{"PILOT", "CRANE"}, config.GUESSES);
+        for (int i = 0; i < boards.maxGuesses; i++) {
+            assertFalse(boards.finished());
+            assertNull(boards.guess("slate"));
+        }
+        assertTrue(boards.finished());
+        assertEquals(0, boards.solved());
+    }
+
+    @Test
+    @DisplayName("The words of the boards are different answers")
+    void testPick() {
+        Bucket bucket = vocabulary.ofLength(5);
+        int[] answers = IntStream.range(0, 8).toArray();
+        String[] words = Boards.pick(bucket, answers, 8);
+        assertEquals(8, Arrays.stream(words).distinct().count());
+        for (String word : words) {
+            assertTrue(bucket.indexOf(word.toLowerCase()) < 8, word + " is not one of the answers");
+        }
+        assertThrows(IllegalArgumentException.class, () -> Boards.pick(bucket, answers, 9));
+    }
+
+}
@@ -1,7 +1,10 @@
 package test.dev.wordle.game;
 
+import main.dev.wordle.common.Vocabulary;
 import main.dev.wordle.game.Database;
+import main.dev.wordle.game.History;
 import main.dev.wordle.game.State;
+import main.dev.wordle.game.Stats;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,9 +16,14 @@ import org.powermock.reflect.Whitebox;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -25,18 +33,21 @@ public class DatabaseTest {
 
     private static final String WORD = "PILOT";
     private static final String SIMILAR_WORD = "PLANE";
-    public static final String TEST_LOCATION = System.getProperty("user.home") + "/.cache/wordle/test.txt";
+    public static final String TEST_LOCATION = System.getProperty("user.home") + "/.cache/wordle/test.bin";
+    public static final String TEST_LEGACY_LOCATION = System.getProperty("user.home") + "/.cache/wordle/test.txt";
     private static final ByteArrayOutputStream outputStreamCaptor = new ByteArrayOutputStream();
 
     @BeforeEach
     void setUp() {
         System.setOut(new PrintStream(outputStreamCaptor));
         Whitebox.setInternalState(Database.class, "location", TEST_LOCATION);
+        Whitebox.setInternalState(Database.class, "legacyLocation", TEST_LEGACY_LOCATION);
     }
 
     @AfterEach
     void clean() throws IOException {
         Database.drop();
+        Files.deleteIfExists(Paths.get(TEST_LEGACY_LOCATION));
     }
 
     @Test
@@ -64,4 +75,87 @@ public class DatabaseTest {
         );
     }
 
+    @Test
+    @DisplayName("Test that a CSV history is migrated")
+    void testMigration() throws IOException {
+        Path legacy = Paths.get(TEST_LEGACY_LOCATION);
+        Files.createDirectories(legacy.getParent());
+        Files.writeString(legacy, "PILOT,true,3\nPLANE,false,5\nnot a record\n");
+
+        List<Database.Record> records = Database.read();
+        assertEquals(2, records.size(), "every valid line should be migrated");
+        assertEquals(new Database.Record("PILOT", true, 3, 0), records.get(0), "unexpected record");
+        assertEquals(new Database.Record("PLANE", false, 5, 0), records.get(1), "unexpected record");
+
+        Database.write(WORD, false, 5);
+        records = Database.read();
+        assertEquals(3, records.size(), "new games should be appended to the migrated history");
+        assertFalse(records.get(2).victory(), "unexpected record");
+        assertTrue(records.get(2).timestamp() > 0, "new games should have a timestamp");
+        assertTrue(Files.exists(legacy), "the CSV history should be left in place");
+    }
+
+    @Test
+    @DisplayName("Test that the statistics are kept up to date and rebuilt when corrupt")
+    void testStats() throws IOException {
+        Database.write(WORD, true, 2);
+        Database.write(WORD, false, 5);
+        Database.write("PLAN", true, 3);
+        Database.write(WORD, true, 3);
+        Database.write(WORD, true, 4);
+
+        Stats stats = Database.stats();
+        assertEquals(5, stats.games(), "unexpected game count");
+        assertEquals(4, stats.wins(), "unexpected win count");
+        assertEquals(3, stats.currentStreak(), "unexpected current streak");
+        assertEquals(3, stats.maxStreak(), "unexpected max streak");
+        assertEquals(2, stats.histogram(3), "unexpected histogram");
+        assertEquals(1, stats.games(4), "unexpected games by length");
+        assertEquals(3.5, stats.averageGuesses(5), 1e-9, "unexpected guesses by length");
+
+        Files.writeString(Paths.get(TEST_LOCATION + ".stats"), "corrupt");
+        Whitebox.setInternalState(Database.class, "stats", (Object) null);
+        Stats rebuilt = Database.stats();
+        assertEquals(5, rebuilt.games(), "statistics should be rebuilt from the log");
+        assertEquals(3, rebuilt.maxStreak(), "statistics should be rebuilt from the log");
+        assertEquals(75.0, rebuilt.winRate(5), 1e-9, "statistics should be rebuilt from the log");
+    }
+
+    @Test
+    @DisplayName("Test that the words of a history written against another word list are forgotten")
+    void testOtherWordList() throws IOException {
+        Path path = Paths.get(TEST_LOCATION);
+        Files.createDirectories(path.getParent());
+        int words = Vocabulary.getInstance().checksum();
+        try (History.Writer writer = new History.Writer(path, words + 1)) {
+            writer.append(History.word(5, 3), true, 3, 42);
+            writer.append(History.word(5, 0xFFFFF), false, 5, 43);
+        }
+
+        List<Database.Record> records = Database.read();
+        assertEquals(2, records.size(), "no record should be lost");
+        assertEquals(new Database.Record(null, true, 3, 42), records.get(0), "the word should be unknown");
+        assertEquals(new Database.Record(null, false, 5, 43), records.get(1), "the word should be unknown");
+        assertEquals(words, History.open(path).words(), "the history should now refer to the current word list");
+
+        Database.write(WORD, true, 2);
+        assertEquals(WORD, Database.read().get(2).word(), "new games should keep their word");
+        assertEquals(3, Database.stats().games(), "statistics should cover every game");
+        assertNull(Database.read().get(0).word(), "old words should stay unknown");
+    }
+
+    @Test
+    @DisplayName("Test that a history whose header was cut short is started again")
+    void testPartialHeader() throws IOException {
+        Path path = Paths.get(TEST_LOCATION);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[] {0x57, 0x48, 0x53, 0x54, 0, 0, 0});
+
+        Database.write(WORD, true, 2);
+        List<Database.Record> records = Database.read();
+        assertEquals(1, records.size(), "the game should be recorded");
+        assertEquals(WORD, records.get(0).word(), "unexpected word");
+        assertEquals(1, Database.stats().games(), "statistics should cover the game");
+    }
+
 }
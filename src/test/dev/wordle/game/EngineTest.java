@@ -0,0 +1,60 @@
+package test.dev.wordle.game;
+
+import main.dev.wordle.game.Engine;
+import main.dev.wordle.game.Result;
+import main.dev.wordle.game.Session;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EngineTest {
+
+    private static final String WORD = "PILOT";
+    private static final String GUESS_WITH_FULL_AND_PARTIAL_MATCH = "PLACE";
+
+    @Test
+    @DisplayName("Sessions keep their own state")
+    void testIndependentSessions() throws IOException {
+        Engine engine = new Engine();
+        Session first = engine.create(WORD);
+        Session second = engine.create(WORD);
+        Result result = first.guess(GUESS_WITH_FULL_AND_PARTIAL_MATCH);
+        assertTrue(result.accepted(), "valid guess should be accepted");
+        assertEquals("Pl***", result.view(), "unexpected view");
+        assertEquals("ACE", result.eliminated(), "unexpected eliminated letters");
+        assertEquals("*****", second.status().view(), "other sessions should not be affected");
+        assertEquals(0, second.status().guesses(), "other sessions should not be affected");
+    }
+
+    @Test
+    @DisplayName("Sessions can be played concurrently and finished")
+    void testConcurrentSessions() throws IOException {
+        Engine engine = new Engine();
+        long[] ids = IntStream.range(0, 1000).mapToLong(i -> engine.create(WORD).id).toArray();
+        assertEquals(1000, engine.size(), "every session should be open");
+        boolean allWon = IntStream.range(0, ids.length).parallel()
+                .mapToObj(i -> engine.guess(ids[i], WORD))
+                .allMatch(result -> result.finished() && result.correct());
+        assertTrue(allWon, "every game should be won");
+        for (long id : ids) {
+            assertEquals(1, engine.finish(id).guesses(), "the game should take one guess");
+        }
+        assertEquals(0, engine.size(), "every session should be closed");
+        assertThrows(NoSuchElementException.class, () -> engine.guess(ids[0], WORD), "closed sessions should be gone");
+    }
+
+    @Test
+    @DisplayName("Finished games do not accept more guesses")
+    void testFinishedGame() throws IOException {
+        Session session = new Engine().create(WORD);
+        session.guess(WORD);
+        Result result = session.guess(GUESS_WITH_FULL_AND_PARTIAL_MATCH);
+        assertFalse(result.accepted(), "guess after the end should be rejected");
+        assertEquals(1, result.guesses(), "guess count should not change");
+    }
+}
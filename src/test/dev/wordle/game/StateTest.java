@@ -1,7 +1,10 @@
 package test.dev.wordle.game;
 
 import main.dev.wordle.common.Config;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
 import main.dev.wordle.game.Colours;
+import main.dev.wordle.game.Result;
 import main.dev.wordle.game.State;
 import main.dev.wordle.game.Validator;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.anyString;
@@ -44,6 +48,7 @@ public class StateTest {
     @BeforeEach
     void setUp() {
         state = new State(WORD);
+        outputStreamCaptor.reset();
         System.setOut(new PrintStream(outputStreamCaptor));
     }
 
@@ -162,4 +167,24 @@ public class StateTest {
         state.show();
         assertEquals(countPrintedHidden(), WORD.length() - 1, "one of the letters should be revealed");
     }
+
+    @Test
+    @DisplayName("The adversarial mode keeps the largest group of answers and can still be won")
+    void testAdversarial() throws IOException {
+        Bucket bucket = Vocabulary.getInstance().ofLength(WORD.length());
+        State adversarial = State.adversarial(bucket, IntStream.range(0, bucket.size).toArray());
+        assertEquals(bucket.size, adversarial.remaining(), "every word should be in play");
+        Result first = adversarial.update(GUESS_WITH_FULL_AND_PARTIAL_MATCH);
+        assertTrue(first.accepted(), "guess should be accepted");
+        assertFalse(first.correct(), "the first guess should not win");
+        assertTrue(adversarial.remaining() > 1 && adversarial.remaining() < bucket.size, "the answers should be narrowed down");
+        String view = first.view();
+        State fixed = new State(adversarial.getWord());
+        assertEquals(view, fixed.update(GUESS_WITH_FULL_AND_PARTIAL_MATCH).view(), "the word should explain the feedback");
+
+        State single = State.adversarial(bucket, new int[]{bucket.indexOf(WORD)});
+        assertTrue(single.update(WORD).correct(), "the last answer in play should win");
+        assertEquals(-1, state.remaining(), "a normal game has no answers in play");
+    }
+
 }
@@ -1,13 +1,22 @@
 package test.dev.wordle.game;
 
+import main.dev.wordle.common.Answers;
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.game.Constraints;
 import main.dev.wordle.game.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -54,4 +63,59 @@ public class ValidatorTest {
         assertFalse(validator.validate("TRWEZ"), "invalid input not detected");
     }
 
+    /**
+     * Test the rules learnt from a guess: PLACE against PILOT reveals P, places L elsewhere and eliminates A, C, E
+     */
+    @Test
+    @DisplayName("Check the validator function after a guess")
+    void testValidateConstraints() throws IOException {
+        Constraints constraints = validator.constraints();
+        constraints.fix(0, 'P');
+        constraints.require(1, 'L');
+        constraints.eliminate('A');
+        constraints.eliminate('C');
+        constraints.eliminate('E');
+        assertTrue(validator.validate("PILOT"), "valid input not recognised");
+        assertEquals("You have already used these letters", validator.check("PLACE"), "eliminated letters not detected");
+        assertEquals("You have to use previously discovered letters", validator.check("LOTUS"), "discovered letters not enforced");
+        assertEquals("You have to use previously partially discovered letters", validator.check("PRINT"), "partially discovered letters not enforced");
+
+        Bucket bucket = Vocabulary.getInstance().ofLength(5);
+        long expected = IntStream.range(0, bucket.size)
+                .mapToObj(bucket::get)
+                .filter(w -> w.charAt(0) == 'p' && w.charAt(1) != 'l' && w.indexOf('l') > 0 && !w.matches(".*[ace].*"))
+                .count();
+        assertEquals(expected, validator.remaining(), "unexpected number of possible answers");
+    }
+
+    /**
+     * Test that only the words of the answer list are counted as possible answers once there is one
+     */
+    @Test
+    @DisplayName("Count the possible answers among the answer list")
+    void testRemainingAnswers() throws IOException {
+        Vocabulary vocabulary = Vocabulary.getInstance();
+        Bucket bucket = vocabulary.ofLength(5);
+        Path file = Files.createTempFile("answers", ".txt");
+        Files.writeString(file, "pilot\nplace\nprint\ncrane\n");
+        Answers answers;
+        try {
+            answers = Answers.load(file, vocabulary, 8);
+        } finally {
+            Files.delete(file);
+        }
+        Constraints constraints = new Constraints(5);
+        constraints.fix(0, 'P');
+        constraints.eliminate('A');
+        constraints.eliminate('C');
+        constraints.eliminate('E');
+        assertEquals(2, constraints.remaining(bucket, answers), "only PILOT and PRINT are still possible answers");
+        long words = IntStream.range(0, bucket.size)
+                .mapToObj(bucket::get)
+                .filter(w -> w.charAt(0) == 'p' && !w.matches(".*[ace].*"))
+                .count();
+        assertEquals(words, constraints.remaining(vocabulary.ofLength(5), Answers.load(Path.of("missing.txt"), vocabulary, 8)),
+                "without an answer list every word is a possible answer");
+    }
+
 }
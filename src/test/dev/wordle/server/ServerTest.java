@@ -0,0 +1,38 @@
+package test.dev.wordle.server;
+
+import main.dev.wordle.server.Server;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    @Test
+    @DisplayName("A game can be played through requests")
+    void testGame() {
+        String created = Server.handle("NEW 5");
+        Matcher matcher = ID.matcher(created);
+        assertTrue(matcher.find(), "new game should have an id");
+        String id = matcher.group(1);
+        assertTrue(created.contains("\"view\":\"*****\""), "new game should be hidden");
+        assertTrue(Server.handle("GUESS " + id + " xx").contains("\"accepted\":false"), "short guess should be rejected");
+        assertTrue(Server.handle("hint " + id).contains("\"guesses\":1"), "hint should use up a guess");
+        assertTrue(Server.handle("END " + id).contains("\"finished\":true"), "ended game should be finished");
+        assertTrue(Server.handle("STATUS " + id).contains("\"error\""), "ended game should be closed");
+    }
+
+    @Test
+    @DisplayName("Malformed requests are reported")
+    void testErrors() {
+        assertEquals("{\"error\":\"Unknown command: FOO\"}", Server.handle("FOO"));
+        assertEquals("{\"error\":\"Missing argument for GUESS\"}", Server.handle("GUESS"));
+        assertEquals("{\"error\":\"Word length must be between 4 and 8\"}", Server.handle("NEW 20"));
+    }
+
+}
@@ -0,0 +1,50 @@
+package test.dev.wordle.simulator;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.simulator.Simulator;
+import main.dev.wordle.simulator.Strategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SimulatorTest {
+
+    private static final int GUESSES = 6;
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(4);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("The first candidate strategy solves the first word in one guess")
+    void testPlay() {
+        Strategy strategy = new Strategy.First();
+        assertEquals(1, Simulator.play(bucket, 0, strategy, GUESSES, null), "first word should be guessed at once");
+        int outcome = Simulator.play(bucket, bucket.indexOf("WORD"), strategy, GUESSES, null);
+        assertTrue(outcome == Simulator.FAILED || (outcome > 1 && outcome <= GUESSES), "unexpected outcome " + outcome);
+    }
+
+    @Test
+    @DisplayName("Simulated games never break the hard-mode rules and are summarised correctly")
+    void testSimulate() {
+        int[] outcomes = Simulator.simulate(bucket, 200, new Strategy.Random(), GUESSES, null);
+        Simulator.Report report = new Simulator.Report(outcomes, GUESSES);
+        assertEquals(200, report.games, "every game should be played");
+        assertEquals(0, report.illegal, "candidates should always be legal guesses");
+        int played = report.games - report.wins;
+        for (int count : report.distribution) {
+            played += count;
+        }
+        assertEquals(200, played, "every game should be won or lost");
+    }
+}
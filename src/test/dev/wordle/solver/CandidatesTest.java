@@ -0,0 +1,46 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Candidates;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandidatesTest {
+
+    private static final Bucket bucket;
+
+    static {
+        try {
+            bucket = Vocabulary.getInstance().ofLength(5);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Guesses narrow the candidates down and can be undone")
+    void testApplyAndUndo() {
+        Candidates candidates = new Candidates(bucket);
+        assertEquals(bucket.size, candidates.size(), "every word should be a candidate at first");
+        int afterFirst = candidates.apply("PLACE", Candidates.parse("gy..."));
+        assertTrue(afterFirst > 0 && afterFirst < bucket.size, "the first guess should narrow the candidates");
+        for (int id : candidates.ids()) {
+            String word = bucket.get(id);
+            assertTrue(word.startsWith("p") && word.indexOf('l') > 1, "unexpected candidate " + word);
+        }
+        int afterSecond = candidates.apply("PILOT", Candidates.parse("ggggg"));
+        assertEquals(1, afterSecond, "only the guessed word should be left");
+        assertEquals("pilot", bucket.get(candidates.ids()[0]), "unexpected candidate");
+
+        assertTrue(candidates.undo(), "the second guess should be undone");
+        assertEquals(afterFirst, candidates.size(), "undo should restore the previous candidates");
+        assertTrue(candidates.undo(), "the first guess should be undone");
+        assertFalse(candidates.undo(), "there should be nothing left to undo");
+        assertEquals(bucket.size, candidates.size(), "undo should restore every word");
+    }
+}
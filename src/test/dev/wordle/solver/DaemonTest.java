@@ -0,0 +1,99 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.solver.Daemon;
+import main.dev.wordle.solver.Solver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DaemonTest {
+
+    @Test
+    @DisplayName("The daemon answers queries exactly like the solver would")
+    void testForward() throws Exception {
+        Path socket = Files.createTempDirectory("wordle").resolve("test.sock");
+        assertNull(Daemon.forward(socket, Daemon.request("Pl***", "ANE", 0)), "no daemon should be running yet");
+        Daemon daemon = Daemon.bind(socket);
+        Thread thread = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        try {
+            assertEquals(Solver.answer("Pl***", "ANE", 0), Daemon.forward(socket, Daemon.request("Pl***", "ANE", 0)));
+            assertEquals(Solver.answer("Pl***", "ANE", 3), Daemon.forward(socket, Daemon.request("Pl***", "ANE", 3)));
+            assertEquals(Solver.answer("P1***", "", 0), Daemon.forward(socket, Daemon.request("P1***", null, 0)));
+            assertThrows(IOException.class, () -> Daemon.bind(socket), "a second daemon should not replace a live one");
+        } finally {
+            daemon.close();
+            thread.join();
+        }
+        assertFalse(Files.exists(socket), "the socket should be removed");
+        assertNull(Daemon.forward(socket, Daemon.request("Pl***", "ANE", 0)), "the daemon should be gone");
+    }
+
+    @Test
+    @DisplayName("A client stops waiting for a daemon that does not respond")
+    void testResponseTimeout() throws Exception {
+        Path socket = Files.createTempDirectory("wordle").resolve("test.sock");
+        try (ServerSocketChannel wedged = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            wedged.bind(UnixDomainSocketAddress.of(socket));
+            long start = System.currentTimeMillis();
+            assertNull(Daemon.forward(socket, Daemon.request("Pl***", "ANE", 0), 200), "the query should be solved locally");
+            assertTrue(System.currentTimeMillis() - start < 5_000, "the client should give up after the timeout");
+            assertThrows(IOException.class, () -> Daemon.bind(socket), "a busy daemon should not be replaced");
+        } finally {
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    @Test
+    @DisplayName("The daemon drops connections that send no request")
+    void testRequestTimeout() throws Exception {
+        Path socket = Files.createTempDirectory("wordle").resolve("test.sock");
+        long timeout = Daemon.requestTimeout;
+        Daemon.requestTimeout = 200;
+        Daemon daemon = Daemon.bind(socket);
+        Thread thread = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        try (SocketChannel idle = SocketChannel.open(UnixDomainSocketAddress.of(socket))) {
+            long start = System.currentTimeMillis();
+            assertEquals(-1, idle.read(ByteBuffer.allocate(1)), "the daemon should close the connection");
+            assertTrue(System.currentTimeMillis() - start < 5_000, "the daemon should give up after the timeout");
+            assertEquals(Solver.answer("Pl***", "ANE", 0), Daemon.forward(socket, Daemon.request("Pl***", "ANE", 0)));
+        } finally {
+            Daemon.requestTimeout = timeout;
+            daemon.close();
+            thread.join();
+        }
+    }
+
+    @Test
+    @DisplayName("A daemon closed before it starts serving returns quietly")
+    void testCloseBeforeServe() throws Exception {
+        Path socket = Files.createTempDirectory("wordle").resolve("test.sock");
+        Daemon daemon = Daemon.bind(socket);
+        daemon.close();
+        daemon.serve();
+    }
+
+}
@@ -0,0 +1,40 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Entropy;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntropyTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Asking for no guesses returns none, whatever the number of candidates")
+    void testBestNone() {
+        Bucket bucket = vocabulary.ofLength(5);
+        Filter filter = new Filter("****e", "S");
+        int[] candidates = IntStream.range(0, bucket.size).filter(id -> filter.test(bucket, id)).toArray();
+        Entropy entropy = new Entropy(bucket, candidates);
+        assertEquals(0, entropy.best(0, ForkJoinPool.commonPool()).length);
+        assertEquals(0, new Entropy(bucket, new int[]{candidates[0]}).best(0, ForkJoinPool.commonPool()).length);
+        assertEquals(3, entropy.best(3, ForkJoinPool.commonPool()).length);
+    }
+
+}
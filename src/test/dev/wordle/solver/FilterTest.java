@@ -0,0 +1,34 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.WordIndex;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FilterTest {
+
+    private static final Filter filter = new Filter("Pl***", "ANE");
+
+    private static boolean test(String candidate) {
+        return filter.test(Filter.toMask(candidate), WordIndex.encode(candidate));
+    }
+
+    @Test
+    @DisplayName("Candidates that satisfy every constraint are accepted")
+    void testAccepts() {
+        assertTrue(test("PILOT"), "PILOT should match");
+        assertTrue(test("POLKS"), "POLKS should match");
+    }
+
+    @Test
+    @DisplayName("Each of the constraints rejects candidates on its own")
+    void testRejects() {
+        assertFalse(test("PLOTS"), "partially discovered letter cannot stay in place");
+        assertFalse(test("PIOUS"), "partially discovered letter must be used");
+        assertFalse(test("TOPIL"), "discovered letter must stay in place");
+        assertFalse(test("PILAU"), "eliminated letters cannot be used");
+    }
+}
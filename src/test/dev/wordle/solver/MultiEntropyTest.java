@@ -0,0 +1,71 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Entropy;
+import main.dev.wordle.solver.MultiEntropy;
+import main.dev.wordle.solver.Filter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MultiEntropyTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("The information of a guess is the sum of its information on every board")
+    void testScore() {
+        Bucket bucket = vocabulary.ofLength(5);
+        int[] first = matches(bucket, new Filter("P****", "AE"));
+        int[] second = matches(bucket, new Filter("****s", "IOU"));
+        MultiEntropy multi = new MultiEntropy(bucket, List.of(first, second, first), null);
+        assertEquals(2, multi.distinct(), "identical boards should be scored once");
+        int[] histogram = new int[Feedback.patterns(5)];
+        int guess = bucket.indexOf("crane");
+        double expected = 2 * new Entropy(bucket, first).score(guess, histogram)
+                + new Entropy(bucket, second).score(guess, histogram);
+        assertEquals(expected, multi.score(guess, histogram), 1e-9);
+    }
+
+    @Test
+    @DisplayName("A board with a single candidate left is solved first, then guesses are ranked in the same order by any number of workers")
+    void testBest() {
+        Bucket bucket = vocabulary.ofLength(5);
+        int pilot = bucket.indexOf("pilot");
+        int[] open = matches(bucket, new Filter("****e", "S"));
+        MultiEntropy multi = new MultiEntropy(bucket, List.of(new int[]{pilot}, open), null);
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(4)};
+        int[] expected = multi.best(10, pools[0]);
+        assertEquals(10, expected.length);
+        assertEquals(pilot, expected[0]);
+        int[] histogram = new int[Feedback.patterns(5)];
+        for (int i = 2; i < expected.length; i++) {
+            assertTrue(multi.score(expected[i - 1], histogram) >= multi.score(expected[i], histogram), "guesses should be ranked");
+        }
+        for (ForkJoinPool pool : pools) {
+            assertArrayEquals(expected, multi.best(10, pool));
+            pool.shutdown();
+        }
+    }
+
+    private static int[] matches(Bucket bucket, Filter filter) {
+        return IntStream.range(0, bucket.size).filter(id -> filter.test(bucket, id)).toArray();
+    }
+
+}
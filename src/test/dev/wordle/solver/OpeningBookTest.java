@@ -0,0 +1,90 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Feedback;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Entropy;
+import main.dev.wordle.solver.OpeningBook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpeningBookTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("The book gives the same first and second guesses as scoring them")
+    void testLookup() throws IOException {
+        Bucket bucket = vocabulary.ofLength(4);
+        int[] answers = IntStream.range(0, bucket.size).filter(id -> id % 4 == 0).toArray();
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        Path path = Files.createTempFile("opening", ".bin");
+        try {
+            OpeningBook.build(bucket, answers, null, pool, path);
+            OpeningBook book = OpeningBook.load(bucket, answers, path);
+            assertNotNull(book);
+            int[] first = new Entropy(bucket, answers).best(OpeningBook.DEPTH, pool);
+            assertArrayEquals(Arrays.copyOf(first, 3), book.first(3));
+            assertEquals(first[0], book.opening());
+            assertNull(book.first(OpeningBook.DEPTH + 1), "the book should not pretend to hold more guesses");
+            long code = bucket.codes()[first[0]];
+            long[] codes = bucket.codes();
+            int[] masks = bucket.masks();
+            int[] patterns = Arrays.stream(answers).map(id -> Feedback.score(code, codes[id], masks[id], 4)).distinct().limit(5).toArray();
+            for (int pattern : patterns) {
+                int[] group = Arrays.stream(answers).filter(id -> Feedback.score(code, codes[id], masks[id], 4) == pattern).toArray();
+                assertArrayEquals(new Entropy(bucket, group).best(5, pool), book.second(pattern, 5),
+                        "unexpected second guesses for pattern " + pattern);
+            }
+            assertEquals(0, book.second(Feedback.patterns(4) - 2, 5).length, "no word can produce that pattern");
+            assertNull(OpeningBook.load(bucket, Arrays.copyOf(answers, answers.length - 1), path),
+                    "a book built for other answers should be ignored");
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    @DisplayName("A truncated or corrupt book is ignored")
+    void testCorrupt() throws IOException {
+        Bucket bucket = vocabulary.ofLength(4);
+        int[] answers = IntStream.range(0, bucket.size).filter(id -> id % 16 == 0).toArray();
+        Path path = Files.createTempFile("opening", ".bin");
+        try {
+            OpeningBook.build(bucket, answers, null, ForkJoinPool.commonPool(), path);
+            byte[] bytes = Files.readAllBytes(path);
+            for (int size : new int[] {40, 60, bytes.length / 2, bytes.length - 1}) {
+                Files.write(path, Arrays.copyOf(bytes, size));
+                assertNull(OpeningBook.load(bucket, answers, path), "a book cut at " + size + " bytes should be ignored");
+            }
+            byte[] corrupt = bytes.clone();
+            corrupt[32] = (byte) 0xFF;
+            Files.write(path, corrupt);
+            assertNull(OpeningBook.load(bucket, answers, path), "a negative count should be ignored");
+            Files.write(path, Arrays.copyOf(bytes, bytes.length + 4));
+            assertNull(OpeningBook.load(bucket, answers, path), "trailing bytes should be ignored");
+            Files.write(path, bytes);
+            assertNotNull(OpeningBook.load(bucket, answers, path));
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.solver.Filter;
+import main.dev.wordle.solver.ResultCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @Test
+    @DisplayName("Queries that accept the same words share a key")
+    void testKey() {
+        assertEquals(key("Pl***", "ACE"), key("Pl***", "ECA"));
+        assertEquals(key("Pl***", "ACE"), key("Pl***", "AACCEE"));
+        assertEquals(key("*****", ""), key("*****", ""));
+        assertEquals(key("Q****", "Q"), key("Z****", "Z"), "queries that match nothing should share a key");
+        assertTrue(key("*****", "").open());
+        assertFalse(key("****s", "").open());
+        assertNotEquals(key("Pl***", "ACE"), key("Pl***", "ACD"));
+        assertNotEquals(key("Pl***", "ACE"), key("P*l**", "ACE"));
+        assertNotEquals(ResultCache.Key.of(new Filter("Pl***", ""), false, 5), ResultCache.Key.of(new Filter("Pl***", ""), true, 5));
+        assertNotEquals(ResultCache.Key.of(new Filter("Pl***", ""), false, 5), ResultCache.Key.of(new Filter("Pl***", ""), false, 6));
+    }
+
+    @Test
+    @DisplayName("The least recently used result is dropped and lookups are counted")
+    void testEviction() {
+        ResultCache cache = new ResultCache(2);
+        cache.put(key("A****", ""), new int[]{1});
+        cache.put(key("B****", ""), new int[]{2});
+        assertArrayEquals(new int[]{1}, cache.get(key("A****", "")));
+        cache.put(key("C****", ""), new int[]{3});
+        assertNull(cache.get(key("B****", "")), "the least recently used result should have been dropped");
+        assertArrayEquals(new int[]{3}, cache.get(key("C****", "")));
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.hits());
+        assertEquals(1, cache.misses());
+        assertEquals(2.0 / 3, cache.hitRate(), 1e-9);
+        assertNull(new ResultCache(0).get(key("A****", "")));
+    }
+
+    @Test
+    @DisplayName("Saved results are loaded back, unless the words have changed")
+    void testPersistence() throws IOException {
+        Path path = Files.createTempFile("cache", ".bin");
+        try {
+            ResultCache cache = new ResultCache(10);
+            cache.put(key("Pl***", "ACE"), new int[]{4, 8, 15});
+            cache.put(ResultCache.Key.of(new Filter("*****", ""), true, 3), new int[]{16, 23, 42});
+            cache.save(path, 1234);
+            ResultCache loaded = new ResultCache(10);
+            assertEquals(2, loaded.load(path, 1234));
+            assertArrayEquals(new int[]{4, 8, 15}, loaded.get(key("Pl***", "CEA")));
+            assertArrayEquals(new int[]{16, 23, 42}, loaded.get(ResultCache.Key.of(new Filter("*****", ""), true, 3)));
+            ResultCache stale = new ResultCache(10);
+            assertEquals(0, stale.load(path, 4321));
+            assertEquals(0, stale.size());
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static ResultCache.Key key(String word, String eliminated) {
+        return ResultCache.Key.of(new Filter(word, eliminated), false, 5);
+    }
+
+}
@@ -0,0 +1,80 @@
+package test.dev.wordle.solver;
+
+import main.dev.wordle.common.Bucket;
+import main.dev.wordle.common.Vocabulary;
+import main.dev.wordle.solver.Filter;
+import main.dev.wordle.solver.Scan;
+import main.dev.wordle.solver.TopK;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScanTest {
+
+    private static final Vocabulary vocabulary;
+
+    static {
+        try {
+            vocabulary = Vocabulary.getInstance();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("The parallel scan finds the same first matches as a linear scan, whatever the number of workers")
+    void testFirst() {
+        String[][] queries = {{"********", ""}, {"*******x", ""}, {"****s", "QXZJ"}, {"Z****", ""}, {"*q***", "AEIOU"}};
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(4)};
+        for (String[] query : queries) {
+            Bucket bucket = vocabulary.ofLength(query[0].length());
+            Filter filter = new Filter(query[0], query[1]);
+            int[] all = IntStream.range(0, bucket.size).filter(id -> filter.test(bucket, id)).toArray();
+            for (int limit : new int[]{1, 5, 1000, bucket.size}) {
+                int[] expected = Arrays.copyOf(all, Math.min(limit, all.length));
+                for (ForkJoinPool pool : pools) {
+                    assertArrayEquals(expected, Scan.first(bucket, filter, limit, pool),
+                            "unexpected matches for " + query[0] + "/" + query[1] + " with limit " + limit);
+                }
+            }
+        }
+        for (ForkJoinPool pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Ranked scans return the best scored matches, whatever the number of workers")
+    void testTop() {
+        Bucket bucket = vocabulary.ofLength(8);
+        Filter filter = new Filter("*******s", "");
+        long[] scores = new long[bucket.size];
+        for (int id = 0; id < bucket.size; id++) {
+            scores[id] = (id * 7919L) % 1000;
+        }
+        int[] expected = IntStream.range(0, bucket.size)
+                .filter(id -> filter.test(bucket, id))
+                .boxed()
+                .sorted((a, b) -> scores[a] != scores[b] ? Long.compare(scores[b], scores[a]) : Integer.compare(a, b))
+                .mapToInt(Integer::intValue)
+                .limit(20)
+                .toArray();
+        ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(4)};
+        for (ForkJoinPool pool : pools) {
+            assertArrayEquals(expected, Scan.top(bucket, filter, 20, scores, pool), "unexpected ranking");
+            pool.shutdown();
+        }
+        TopK top = new TopK(3, new long[]{5, 1, 5, 9});
+        for (int id = 0; id < 4; id++) {
+            top.offer(id);
+        }
+        assertArrayEquals(new int[]{3, 0, 2}, top.toArray(), "ties should be broken by id");
+    }
+
+}